@@ -0,0 +1,60 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PhysicsBatchBenchmark {
+    private static final BoundingBox BOX = new BoundingBox(0.25, 0.25, 0.25);
+    // Stone floor below y 40
+    private static final Block.Getter FLOOR = new Block.Getter() {
+        @Override
+        public Block getBlock(int x, int y, int z, @NotNull Condition condition) {
+            return y < 40 ? Block.STONE : Block.AIR;
+        }
+    };
+
+    @Param({"100", "2000"})
+    public int count;
+
+    private PhysicsBatch batch;
+    private Pos[] positions;
+    private Vec[] velocities;
+
+    @Setup
+    public void setup() {
+        batch = new PhysicsBatch(count);
+        positions = new Pos[count];
+        velocities = new Vec[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new Pos(i % 64 + 0.5, 40.5 + (i % 7), i / 64 + 0.5);
+            velocities[i] = new Vec(0.1, -0.6, 0.05);
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole blackhole) {
+        batch.clear();
+        for (int i = 0; i < count; i++) batch.add(positions[i], velocities[i], BOX);
+        batch.step(FLOOR);
+        blackhole.consume(batch.y(count - 1));
+    }
+
+    @Benchmark
+    public void perEntity(Blackhole blackhole) {
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(BlockCollision.handlePhysics(BOX, velocities[i], positions[i], FLOOR, null, false));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LightComputeBenchmark {
+
+    @Param({"air", "stone", "mixed"})
+    public String filling;
+
+    private Palette palette;
+
+    @Setup
+    public void setup() {
+        palette = Palette.blocks();
+        // Glowstone every 4 blocks, surrounded by the filling
+        palette.setAll((x, y, z) -> {
+            if (x % 4 == 0 && y % 4 == 0 && z % 4 == 0) return Block.GLOWSTONE.stateId();
+            return switch (filling) {
+                case "air" -> Block.AIR.stateId();
+                case "stone" -> (x + y + z) % 2 == 0 ? Block.STONE.stateId() : Block.AIR.stateId();
+                default -> switch ((x * 31 + y * 17 + z * 7) % 4) {
+                    case 0 -> Block.STONE.stateId();
+                    case 1 -> Block.OAK_SLAB.stateId();
+                    case 2 -> Block.GLASS.stateId();
+                    default -> Block.AIR.stateId();
+                };
+            };
+        });
+    }
+
+    @Benchmark
+    public void fullSection(Blackhole blackhole) {
+        blackhole.consume(LightCompute.compute(palette));
+    }
+}
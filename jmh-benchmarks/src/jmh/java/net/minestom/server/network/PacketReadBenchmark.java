@@ -0,0 +1,68 @@
+package net.minestom.server.network;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.packet.client.common.ClientPluginMessagePacket;
+import net.minestom.server.network.packet.client.play.ClientPlayerPositionPacket;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.binary.BinaryBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PacketReadBenchmark {
+    private static final int PACKET_COUNT = 100;
+
+    @Param({"1", "256"})
+    public int compressionThreshold;
+
+    private BinaryBuffer movementStream;
+    private BinaryBuffer pluginMessageStream;
+
+    @Setup
+    public void setup() {
+        var movement = new ClientPlayerPositionPacket(new Vec(12.5, 64, -8.25), true);
+        var pluginMessage = new ClientPluginMessagePacket("minestom:benchmark", new byte[1024]);
+        this.movementStream = createStream(0x17, movement);
+        this.pluginMessageStream = createStream(0x10, pluginMessage);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKET_COUNT)
+    public void readMovement(Blackhole blackhole) throws DataFormatException {
+        read(movementStream, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKET_COUNT)
+    public void readPluginMessage(Blackhole blackhole) throws DataFormatException {
+        read(pluginMessageStream, blackhole);
+    }
+
+    private static void read(BinaryBuffer stream, Blackhole blackhole) throws DataFormatException {
+        final int writerOffset = stream.writerOffset();
+        stream.reset(0, writerOffset);
+        PacketUtils.readPackets(stream, true, (id, payload) -> {
+            blackhole.consume(id);
+            blackhole.consume(payload);
+        });
+    }
+
+    private BinaryBuffer createStream(int id, NetworkBuffer.Writer packet) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(PACKET_COUNT * 2048);
+        for (int i = 0; i < PACKET_COUNT; i++) {
+            PacketUtils.writeFramedPacket(buffer, id, packet, compressionThreshold);
+        }
+        BinaryBuffer stream = BinaryBuffer.wrap(buffer);
+        stream.reset(0, buffer.position());
+        return stream;
+    }
+}
@@ -11,6 +11,7 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.network.CompressionStrategy;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.server.common.PluginMessagePacket;
@@ -64,6 +65,7 @@ public final class MinecraftServer {
     private static int chunkViewDistance = Integer.getInteger("minestom.chunk-view-distance", 8);
     private static int entityViewDistance = Integer.getInteger("minestom.entity-view-distance", 5);
     private static int compressionThreshold = 256;
+    private static CompressionStrategy compressionStrategy = CompressionStrategy.DEFAULT;
     private static boolean terminalEnabled = System.getProperty("minestom.terminal.disabled") == null;
     private static String brandName = "Minestom";
     private static Difficulty difficulty = Difficulty.NORMAL;
@@ -266,6 +268,26 @@ public final class MinecraftServer {
         MinecraftServer.compressionThreshold = compressionThreshold;
     }
 
+    /**
+     * Gets the strategy used to compress packets when no connection specific one is defined.
+     *
+     * @return the global compression strategy
+     */
+    public static @NotNull CompressionStrategy getCompressionStrategy() {
+        return compressionStrategy;
+    }
+
+    /**
+     * Changes the strategy used to compress packets when no connection specific one is defined.
+     * <p>
+     * Also used to frame shared packets (e.g. {@link net.minestom.server.network.packet.server.CachedPacket}).
+     *
+     * @param compressionStrategy the new global compression strategy
+     */
+    public static void setCompressionStrategy(@NotNull CompressionStrategy compressionStrategy) {
+        MinecraftServer.compressionStrategy = compressionStrategy;
+    }
+
     /**
      * Gets if the built in Minestom terminal is enabled.
      *
@@ -12,6 +12,7 @@ import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickMetrics;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.socket.Server;
@@ -141,5 +142,12 @@ public interface ServerProcess extends Snapshotable {
     @ApiStatus.NonExtendable
     interface Ticker {
         void tick(long nanoTime);
+
+        /**
+         * Gets the duration histograms of each tick phase.
+         *
+         * @return the tick metrics
+         */
+        @NotNull TickMetrics metrics();
     }
 }
@@ -16,6 +16,7 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickMetrics;
 import net.minestom.server.monitoring.TickMonitor;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
@@ -253,34 +254,47 @@ final class ServerProcessImpl implements ServerProcess {
     }
 
     private final class TickerImpl implements Ticker {
+        private final TickMetrics metrics = new TickMetrics();
+
         @Override
         public void tick(long nanoTime) {
             final long msTime = System.currentTimeMillis();
+            long phaseStart = System.nanoTime();
 
             scheduler().processTick();
+            phaseStart = recordPhase(TickMetrics.Phase.SCHEDULER, phaseStart);
 
             // Connection tick (let waiting clients in, send keep alives, handle configuration players packets)
             connection().tick(msTime);
+            phaseStart = recordPhase(TickMetrics.Phase.CONNECTION, phaseStart);
 
             // Server tick (chunks/entities)
-            serverTick(msTime);
+            phaseStart = serverTick(msTime, phaseStart);
 
             // Flush all waiting packets
             PacketUtils.flush();
+            phaseStart = recordPhase(TickMetrics.Phase.FLUSH, phaseStart);
 
             // Server connection tick
             server().tick();
+            recordPhase(TickMetrics.Phase.SERVER, phaseStart);
 
             // Monitoring
             {
+                final long tickTimeNano = System.nanoTime() - nanoTime;
+                metrics.record(TickMetrics.Phase.TOTAL, tickTimeNano);
                 final double acquisitionTimeMs = Acquirable.resetAcquiringTime() / 1e6D;
-                final double tickTimeMs = (System.nanoTime() - nanoTime) / 1e6D;
-                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs);
-                EventDispatcher.call(new ServerTickMonitorEvent(tickMonitor));
+                EventDispatcher.call(ServerTickMonitorEvent.class, () ->
+                        new ServerTickMonitorEvent(new TickMonitor(tickTimeNano / 1e6D, acquisitionTimeMs)));
             }
         }
 
-        private void serverTick(long tickStart) {
+        @Override
+        public @NotNull TickMetrics metrics() {
+            return metrics;
+        }
+
+        private long serverTick(long tickStart, long phaseStart) {
             // Tick all instances
             for (Instance instance : instance().getInstances()) {
                 try {
@@ -289,12 +303,22 @@ final class ServerProcessImpl implements ServerProcess {
                     exception().handleException(e);
                 }
             }
+            phaseStart = recordPhase(TickMetrics.Phase.INSTANCES, phaseStart);
+
             // Tick all chunks (and entities inside)
             dispatcher().updateAndAwait(tickStart);
+            phaseStart = recordPhase(TickMetrics.Phase.DISPATCHER, phaseStart);
 
             // Clear removed entities & update threads
             final long tickTime = System.currentTimeMillis() - tickStart;
             dispatcher().refreshThreads(tickTime);
+            return recordPhase(TickMetrics.Phase.REFRESH_THREADS, phaseStart);
+        }
+
+        private long recordPhase(TickMetrics.Phase phase, long phaseStart) {
+            final long time = System.nanoTime();
+            metrics.record(phase, time - phaseStart);
+            return time;
         }
     }
 }
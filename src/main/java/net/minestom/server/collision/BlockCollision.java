@@ -15,6 +15,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 final class BlockCollision {
+    private static final ThreadLocal<PhysicsState> STATE = ThreadLocal.withInitial(PhysicsState::new);
+
     /**
      * Moves an entity with physics applied (ie checking against blocks)
      * <p>
@@ -90,7 +92,21 @@ final class BlockCollision {
                                              @NotNull Block.Getter getter, boolean singleCollision) {
         // Allocate once and update values
         SweepResult finalResult = new SweepResult(1 - Vec.EPSILON, 0, 0, 0, null, null);
+        PhysicsState state = STATE.get();
+        // Only when called again from a block getter
+        if (state.inUse) state = new PhysicsState();
+        state.start(entityPosition, velocity);
+        try {
+            return stepPhysics(boundingBox, velocity, entityPosition, getter, singleCollision, finalResult, state);
+        } finally {
+            state.clear();
+        }
+    }
 
+    private static PhysicsResult stepPhysics(@NotNull BoundingBox boundingBox,
+                                             @NotNull Vec velocity, @NotNull Pos entityPosition,
+                                             @NotNull Block.Getter getter, boolean singleCollision,
+                                             @NotNull SweepResult finalResult, @NotNull PhysicsState state) {
         boolean foundCollisionX = false, foundCollisionY = false, foundCollisionZ = false;
 
         Point[] collidedPoints = new Point[3];
@@ -100,29 +116,29 @@ final class BlockCollision {
 
         // Query faces to get the points needed for collision
         final Vec[] allFaces = calculateFaces(velocity, boundingBox);
-        PhysicsResult result = computePhysics(boundingBox, velocity, entityPosition, getter, allFaces, finalResult);
+        computePhysics(boundingBox, getter, allFaces, finalResult, state);
         // Loop until no collisions are found.
         // When collisions are found, the collision axis is set to 0
         // Looping until there are no collisions will allow the entity to move in axis other than the collision axis after a collision.
-        while (result.collisionX() || result.collisionY() || result.collisionZ()) {
+        while (state.collisionX || state.collisionY || state.collisionZ) {
             // Reset final result
             finalResult.normalX = 0;
             finalResult.normalY = 0;
             finalResult.normalZ = 0;
 
-            if (result.collisionX()) {
+            if (state.collisionX) {
                 foundCollisionX = true;
                 collisionShapes[0] = finalResult.collidedShape;
                 collidedPoints[0] = finalResult.collidedPosition;
                 hasCollided = true;
                 if (singleCollision) break;
-            } else if (result.collisionZ()) {
+            } else if (state.collisionZ) {
                 foundCollisionZ = true;
                 collisionShapes[2] = finalResult.collidedShape;
                 collidedPoints[2] = finalResult.collidedPosition;
                 hasCollided = true;
                 if (singleCollision) break;
-            } else if (result.collisionY()) {
+            } else if (state.collisionY) {
                 foundCollisionY = true;
                 collisionShapes[1] = finalResult.collidedShape;
                 collidedPoints[1] = finalResult.collidedPosition;
@@ -133,31 +149,36 @@ final class BlockCollision {
             // If all axis have had collisions, break
             if (foundCollisionX && foundCollisionY && foundCollisionZ) break;
             // If the entity isn't moving, break
-            if (result.newVelocity().isZero()) break;
+            if (state.velocity.isZero()) break;
 
             finalResult.res = 1 - Vec.EPSILON;
-            result = computePhysics(boundingBox, result.newVelocity(), result.newPosition(), getter, allFaces, finalResult);
+            computePhysics(boundingBox, getter, allFaces, finalResult, state);
         }
 
-        finalResult.res = result.res().res;
-
         final double newDeltaX = foundCollisionX ? 0 : velocity.x();
         final double newDeltaY = foundCollisionY ? 0 : velocity.y();
         final double newDeltaZ = foundCollisionZ ? 0 : velocity.z();
 
-        return new PhysicsResult(result.newPosition(), new Vec(newDeltaX, newDeltaY, newDeltaZ),
+        return new PhysicsResult(state.position, new Vec(newDeltaX, newDeltaY, newDeltaZ),
                 newDeltaY == 0 && velocity.y() < 0,
                 foundCollisionX, foundCollisionY, foundCollisionZ, velocity, collidedPoints, collisionShapes, hasCollided, finalResult);
     }
 
-    private static PhysicsResult computePhysics(@NotNull BoundingBox boundingBox,
-                                                @NotNull Vec velocity, Pos entityPosition,
-                                                @NotNull Block.Getter getter,
-                                                @NotNull Vec[] allFaces,
-                                                @NotNull SweepResult finalResult) {
+    /**
+     * Moves the entity of {@code state} by its remaining velocity, up to the first collision.
+     * <p>
+     * Updates the state in place, the position becomes the reached position and the velocity the remaining movement.
+     */
+    private static void computePhysics(@NotNull BoundingBox boundingBox,
+                                       @NotNull Block.Getter getter,
+                                       @NotNull Vec[] allFaces,
+                                       @NotNull SweepResult finalResult,
+                                       @NotNull PhysicsState state) {
+        final Vec velocity = state.velocity;
+        final Pos entityPosition = state.position;
         // If the movement is small we don't need to run the expensive ray casting.
         // Positions of move less than one can have hardcoded blocks to check for every direction
-        if (velocity.length() < 1) {
+        if (velocity.lengthSquared() < 1) {
             fastPhysics(boundingBox, velocity, entityPosition, getter, allFaces, finalResult);
         } else {
             slowPhysics(boundingBox, velocity, entityPosition, getter, allFaces, finalResult);
@@ -175,15 +196,16 @@ final class BlockCollision {
         if (Math.abs(deltaY) < Vec.EPSILON) deltaY = 0;
         if (Math.abs(deltaZ) < Vec.EPSILON) deltaZ = 0;
 
-        final Pos finalPos = entityPosition.add(deltaX, deltaY, deltaZ);
-
         final double remainingX = collisionX ? 0 : velocity.x() - deltaX;
         final double remainingY = collisionY ? 0 : velocity.y() - deltaY;
         final double remainingZ = collisionZ ? 0 : velocity.z() - deltaZ;
 
-        return new PhysicsResult(finalPos, new Vec(remainingX, remainingY, remainingZ),
-                collisionY, collisionX, collisionY, collisionZ,
-                Vec.ZERO, null, null, false, finalResult);
+        if (deltaX != 0 || deltaY != 0 || deltaZ != 0) state.position = entityPosition.add(deltaX, deltaY, deltaZ);
+        if (remainingX != velocity.x() || remainingY != velocity.y() || remainingZ != velocity.z())
+            state.velocity = new Vec(remainingX, remainingY, remainingZ);
+        state.collisionX = collisionX;
+        state.collisionY = collisionY;
+        state.collisionZ = collisionZ;
     }
 
     private static void slowPhysics(@NotNull BoundingBox boundingBox,
@@ -213,52 +235,55 @@ final class BlockCollision {
                                     @NotNull Block.Getter getter,
                                     @NotNull Vec[] allFaces,
                                     @NotNull SweepResult finalResult) {
+        final double positionX = entityPosition.x(), positionY = entityPosition.y(), positionZ = entityPosition.z();
+        final double velocityX = velocity.x(), velocityY = velocity.y(), velocityZ = velocity.z();
         for (Vec point : allFaces) {
-            final Vec pointBefore = point.add(entityPosition);
-            final Vec pointAfter = point.add(entityPosition).add(velocity);
+            final double pointX = point.x() + positionX, pointY = point.y() + positionY, pointZ = point.z() + positionZ;
+            final int beforeX = (int) Math.floor(pointX), beforeY = (int) Math.floor(pointY), beforeZ = (int) Math.floor(pointZ);
+            final int afterX = (int) Math.floor(pointX + velocityX), afterY = (int) Math.floor(pointY + velocityY), afterZ = (int) Math.floor(pointZ + velocityZ);
             // Entity can pass through up to 4 blocks. Starting block, Two intermediate blocks, and a final block.
             // This means we must check every combination of block movements when an entity moves over an axis.
             // 000, 001, 010, 011, etc.
             // There are 8 of these combinations
             // Checks can be limited by checking if we moved across an axis line
 
-            boolean needsX = pointBefore.x() != pointAfter.x();
-            boolean needsY = pointBefore.y() != pointAfter.y();
-            boolean needsZ = pointBefore.z() != pointAfter.z();
+            boolean needsX = velocityX != 0;
+            boolean needsY = velocityY != 0;
+            boolean needsZ = velocityZ != 0;
 
-            checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+            checkBoundingBox(beforeX, beforeY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
             if (needsX && needsY && needsZ) {
-                checkBoundingBox(pointAfter.blockX(), pointAfter.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, afterY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
-                checkBoundingBox(pointAfter.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsX && needsY) {
-                checkBoundingBox(pointAfter.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsX && needsZ) {
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsY && needsZ) {
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
 
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
-                checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsX) {
-                checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(afterX, beforeY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsY) {
-                checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointBefore.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, afterY, beforeZ, velocity, entityPosition, boundingBox, getter, finalResult);
             } else if (needsZ) {
-                checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointAfter.blockZ(), velocity, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, beforeY, afterZ, velocity, entityPosition, boundingBox, getter, finalResult);
             }
         }
     }
@@ -280,42 +305,37 @@ final class BlockCollision {
                                     Vec entityVelocity, Pos entityPosition, BoundingBox boundingBox,
                                     Block.Getter getter, SweepResult finalResult) {
         // Don't step if chunk isn't loaded yet
-        final Block currentBlock = getter.getBlock(blockX, blockY, blockZ, Block.Getter.Condition.TYPE);
-        final Shape currentShape = currentBlock.registry().collisionShape();
+        final int currentState = getter.getBlock(blockX, blockY, blockZ, Block.Getter.Condition.TYPE).stateId();
+        final int currentFlags = CollisionTable.flags(currentState);
 
-        final boolean currentCollidable = !currentShape.relativeEnd().isZero();
-        final boolean currentShort = currentShape.relativeEnd().y() < 0.5;
+        final boolean currentCollidable = (currentFlags & CollisionTable.EMPTY) == 0;
+        final boolean currentShort = (currentFlags & CollisionTable.SHORT) != 0;
 
         // only consider the block below if our current shape is sufficiently short
         if (currentShort && shouldCheckLower(entityVelocity, entityPosition, blockX, blockY, blockZ)) {
             // we need to check below for a tall block (fence, wall, ...)
-            final Vec belowPos = new Vec(blockX, blockY - 1, blockZ);
-            final Block belowBlock = getter.getBlock(belowPos, Block.Getter.Condition.TYPE);
-            final Shape belowShape = belowBlock.registry().collisionShape();
+            final int belowState = getter.getBlock(blockX, blockY - 1, blockZ, Block.Getter.Condition.TYPE).stateId();
 
-            final Vec currentPos = new Vec(blockX, blockY, blockZ);
             // don't fall out of if statement, we could end up redundantly grabbing a block, and we only need to
             // collision check against the current shape since the below shape isn't tall
-            if (belowShape.relativeEnd().y() > 1) {
+            if ((CollisionTable.flags(belowState) & CollisionTable.TALL) != 0) {
                 // we should always check both shapes, so no short-circuit here, to handle cases where the bounding box
                 // hits the current solid but misses the tall solid
-                return belowShape.intersectBoxSwept(entityPosition, entityVelocity, belowPos, boundingBox, finalResult) |
-                        (currentCollidable && currentShape.intersectBoxSwept(entityPosition, entityVelocity, currentPos, boundingBox, finalResult));
+                return CollisionTable.shape(belowState).intersectBoxSwept(entityPosition, entityVelocity, blockX, blockY - 1, blockZ, boundingBox, finalResult) |
+                        (currentCollidable && CollisionTable.shape(currentState).intersectBoxSwept(entityPosition, entityVelocity, blockX, blockY, blockZ, boundingBox, finalResult));
             } else {
-                return currentCollidable && currentShape.intersectBoxSwept(entityPosition, entityVelocity, currentPos, boundingBox, finalResult);
+                return currentCollidable && CollisionTable.shape(currentState).intersectBoxSwept(entityPosition, entityVelocity, blockX, blockY, blockZ, boundingBox, finalResult);
             }
         }
 
-        if (currentCollidable && currentShape.intersectBoxSwept(entityPosition, entityVelocity,
-                new Vec(blockX, blockY, blockZ), boundingBox, finalResult)) {
+        if (currentCollidable && CollisionTable.shape(currentState).intersectBoxSwept(entityPosition, entityVelocity,
+                blockX, blockY, blockZ, boundingBox, finalResult)) {
             // if the current collision is sufficiently short, we might need to collide against the block below too
             if (currentShort) {
-                final Vec belowPos = new Vec(blockX, blockY - 1, blockZ);
-                final Block belowBlock = getter.getBlock(belowPos, Block.Getter.Condition.TYPE);
-                final Shape belowShape = belowBlock.registry().collisionShape();
+                final int belowState = getter.getBlock(blockX, blockY - 1, blockZ, Block.Getter.Condition.TYPE).stateId();
                 // only do sweep if the below block is big enough to possibly hit
-                if (belowShape.relativeEnd().y() > 1)
-                    belowShape.intersectBoxSwept(entityPosition, entityVelocity, belowPos, boundingBox, finalResult);
+                if ((CollisionTable.flags(belowState) & CollisionTable.TALL) != 0)
+                    CollisionTable.shape(belowState).intersectBoxSwept(entityPosition, entityVelocity, blockX, blockY - 1, blockZ, boundingBox, finalResult);
             }
             return true;
         }
@@ -360,6 +380,28 @@ final class BlockCollision {
         final int queryX = (int) Math.signum(queryVec.x());
         final int queryY = (int) Math.signum(queryVec.y());
         final int queryZ = (int) Math.signum(queryVec.z());
+        // The points only depend on the box and the direction of each axis
+        final int direction = (queryX + 1) * 9 + (queryY + 1) * 3 + (queryZ + 1);
+        return boundingBox.collisionFaces()[direction];
+    }
+
+    /**
+     * Computes the face points of every movement direction, see {@link BoundingBox#collisionFaces()}.
+     */
+    static Vec[][] calculateFaces(BoundingBox boundingBox) {
+        Vec[][] faces = new Vec[27][];
+        for (int queryX = -1; queryX <= 1; queryX++) {
+            for (int queryY = -1; queryY <= 1; queryY++) {
+                for (int queryZ = -1; queryZ <= 1; queryZ++) {
+                    final int direction = (queryX + 1) * 9 + (queryY + 1) * 3 + (queryZ + 1);
+                    faces[direction] = calculateFaces(queryX, queryY, queryZ, boundingBox);
+                }
+            }
+        }
+        return faces;
+    }
+
+    private static Vec[] calculateFaces(int queryX, int queryY, int queryZ, BoundingBox boundingBox) {
 
         final int ceilWidth = (int) Math.ceil(boundingBox.width());
         final int ceilHeight = (int) Math.ceil(boundingBox.height());
@@ -462,4 +504,31 @@ final class BlockCollision {
 
         return facePoints;
     }
+
+    /**
+     * Position and remaining movement of an entity, updated by each collision pass.
+     * <p>
+     * Reused by each thread, physics run for every moving entity each tick.
+     */
+    private static final class PhysicsState {
+        Pos position;
+        Vec velocity;
+        boolean collisionX, collisionY, collisionZ;
+        boolean inUse;
+
+        void start(Pos position, Vec velocity) {
+            this.position = position;
+            this.velocity = velocity;
+            this.collisionX = false;
+            this.collisionY = false;
+            this.collisionZ = false;
+            this.inUse = true;
+        }
+
+        void clear() {
+            this.position = null;
+            this.velocity = null;
+            this.inUse = false;
+        }
+    }
 }
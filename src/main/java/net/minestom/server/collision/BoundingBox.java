@@ -9,12 +9,24 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Iterator;
 
 /**
  * See https://wiki.vg/Entity_metadata#Mobs_2
  */
 public final class BoundingBox implements Shape {
+    private static final VarHandle COLLISION_FACES;
+
+    static {
+        try {
+            COLLISION_FACES = MethodHandles.lookup().findVarHandle(BoundingBox.class, "collisionFaces", Vec[][].class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static final BoundingBox sleepingBoundingBox = new BoundingBox(0.2, 0.2, 0.2);
     private static final BoundingBox sneakingBoundingBox = new BoundingBox(0.6, 1.5, 0.6);
     private static final BoundingBox smallBoundingBox = new BoundingBox(0.6, 0.6, 0.6);
@@ -24,6 +36,10 @@ public final class BoundingBox implements Shape {
     private final double width, height, depth;
     private final Point offset;
     private Point relativeEnd;
+    // Face points used by the block collisions, indexed by the direction of the movement.
+    // Computed on the first collision as most boxes never move, see #collisionFaces()
+    @SuppressWarnings("unused")
+    private Vec[][] collisionFaces;
 
     BoundingBox(double width, double height, double depth, Point offset) {
         this.width = width;
@@ -36,6 +52,21 @@ public final class BoundingBox implements Shape {
         this(width, height, depth, new Vec(-width / 2, 0, -depth / 2));
     }
 
+    /**
+     * Gets the face points used by the block collisions of this box.
+     * <p>
+     * The boxes of entity types are shared by all the tick threads, the array is only published once complete.
+     */
+    Vec[][] collisionFaces() {
+        Vec[][] faces = (Vec[][]) COLLISION_FACES.getAcquire(this);
+        if (faces == null) {
+            // Computed again by concurrent callers, all the results are the same
+            faces = BlockCollision.calculateFaces(this);
+            COLLISION_FACES.setRelease(this, faces);
+        }
+        return faces;
+    }
+
     @Override
     public boolean isOccluded(@NotNull Shape shape, @NotNull BlockFace face) {
         return false;
@@ -49,6 +80,15 @@ public final class BoundingBox implements Shape {
                 (minZ() + positionRelative.z() <= boundingBox.maxZ() - Vec.EPSILON / 2 && maxZ() + positionRelative.z() >= boundingBox.minZ() + Vec.EPSILON / 2);
     }
 
+    /**
+     * Same as {@link #intersectBox(Point, BoundingBox)} with the relative position as coordinates, does not allocate.
+     */
+    boolean intersectBox(double relativeX, double relativeY, double relativeZ, @NotNull BoundingBox boundingBox) {
+        return (minX() + relativeX <= boundingBox.maxX() - Vec.EPSILON / 2 && maxX() + relativeX >= boundingBox.minX() + Vec.EPSILON / 2) &&
+                (minY() + relativeY <= boundingBox.maxY() - Vec.EPSILON / 2 && maxY() + relativeY >= boundingBox.minY() + Vec.EPSILON / 2) &&
+                (minZ() + relativeZ <= boundingBox.maxZ() - Vec.EPSILON / 2 && maxZ() + relativeZ >= boundingBox.minZ() + Vec.EPSILON / 2);
+    }
+
     @Override
     @ApiStatus.Experimental
     public boolean intersectBoxSwept(@NotNull Point rayStart, @NotNull Point rayDirection, @NotNull Point shapePos, @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
@@ -0,0 +1,134 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Collision shape and flags of every block state, indexed by state id and built once from the registry.
+ * <p>
+ * Lets physics, light and pathfinding classify a block from a palette value with a single array read,
+ * without resolving the {@link Block} nor its registry entry.
+ * Unknown state ids are treated as air.
+ */
+@ApiStatus.Internal
+public final class CollisionTable {
+    /**
+     * No collision box.
+     */
+    public static final int EMPTY = 1;
+    /**
+     * A single box covering the whole block.
+     */
+    public static final int FULL = 1 << 1;
+    /**
+     * Collision ending below half of the block, the block under may be tall enough to collide.
+     */
+    public static final int SHORT = 1 << 2;
+    /**
+     * Collision going above the block (fences, walls).
+     */
+    public static final int TALL = 1 << 3;
+
+    private static final int FULL_FACES_SHIFT = 8;
+    private static final int EMPTY_FACES_SHIFT = 16;
+    private static final int FACE_MASK = 0x3F;
+
+    private static final ShapeImpl[] SHAPES;
+    private static final BoundingBox[][] BOXES;
+    // State id -> flags (8 bits) | full occlusion faces (8 bits) | empty occlusion faces (8 bits)
+    private static final int[] STATES;
+
+    static {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) maxStateId = Math.max(maxStateId, state.stateId());
+        }
+        ShapeImpl[] shapes = new ShapeImpl[maxStateId + 1];
+        BoundingBox[][] boxes = new BoundingBox[maxStateId + 1][];
+        int[] states = new int[maxStateId + 1];
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                final ShapeImpl shape = (ShapeImpl) state.registry().collisionShape();
+                final int stateId = state.stateId();
+                shapes[stateId] = shape;
+                boxes[stateId] = shape.collisionBoundingBoxes();
+                states[stateId] = flags(shape)
+                        | (shape.fullFaces() & FACE_MASK) << FULL_FACES_SHIFT
+                        | (shape.airFaces() & FACE_MASK) << EMPTY_FACES_SHIFT;
+            }
+        }
+        // Ids without state, should not happen
+        final int air = Block.AIR.stateId();
+        for (int i = 0; i < shapes.length; i++) {
+            if (shapes[i] != null) continue;
+            shapes[i] = shapes[air];
+            boxes[i] = boxes[air];
+            states[i] = states[air];
+        }
+        SHAPES = shapes;
+        BOXES = boxes;
+        STATES = states;
+    }
+
+    private CollisionTable() {
+    }
+
+    public static @NotNull ShapeImpl shape(int stateId) {
+        return SHAPES[index(stateId)];
+    }
+
+    /**
+     * Gets the collision boxes of a state, relative to the block position.
+     *
+     * @return the boxes, must not be modified
+     */
+    static @NotNull BoundingBox[] boxes(int stateId) {
+        return BOXES[index(stateId)];
+    }
+
+    /**
+     * @return the {@link #EMPTY}, {@link #FULL}, {@link #SHORT} and {@link #TALL} flags of the state
+     */
+    public static int flags(int stateId) {
+        return STATES[index(stateId)] & 0xFF;
+    }
+
+    public static boolean isEmpty(int stateId) {
+        return (STATES[index(stateId)] & EMPTY) != 0;
+    }
+
+    public static boolean isFull(int stateId) {
+        return (STATES[index(stateId)] & FULL) != 0;
+    }
+
+    /**
+     * Same as {@link ShapeImpl#fullFaces()}.
+     */
+    public static int fullFaces(int stateId) {
+        return STATES[index(stateId)] >>> FULL_FACES_SHIFT & FACE_MASK;
+    }
+
+    /**
+     * Same as {@link ShapeImpl#airFaces()}.
+     */
+    public static int emptyFaces(int stateId) {
+        return STATES[index(stateId)] >>> EMPTY_FACES_SHIFT & FACE_MASK;
+    }
+
+    private static int flags(ShapeImpl shape) {
+        final BoundingBox[] boxes = shape.collisionBoundingBoxes();
+        final double maxY = shape.relativeEnd().y();
+        int flags = 0;
+        if (shape.relativeEnd().isZero()) flags |= EMPTY;
+        if (boxes.length == 1 && boxes[0].minX() == 0 && boxes[0].minY() == 0 && boxes[0].minZ() == 0
+                && boxes[0].maxX() == 1 && boxes[0].maxY() == 1 && boxes[0].maxZ() == 1) flags |= FULL;
+        if (maxY < 0.5) flags |= SHORT;
+        if (maxY > 1) flags |= TALL;
+        return flags;
+    }
+
+    private static int index(int stateId) {
+        return stateId >= 0 && stateId < STATES.length ? stateId : Block.AIR.stateId();
+    }
+}
@@ -4,50 +4,67 @@ import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
+
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 final class EntityCollision {
+    private static final ThreadLocal<Collector> COLLECTOR = ThreadLocal.withInitial(Collector::new);
+
     public static PhysicsResult checkCollision(Instance instance, BoundingBox boundingBox, Point point, Vec entityVelocity, double extendRadius, Function<Entity, Boolean> entityFilter, PhysicsResult res) {
         double minimumRes = res != null ? res.res().res : Double.MAX_VALUE;
 
         if (instance == null) return null;
         SweepResult sweepResult = new SweepResult(minimumRes, 0, 0, 0, null, null);
 
-        double closestDistance = minimumRes;
-        Entity closestEntity = null;
-
         var maxDistance = Math.pow(boundingBox.height() * boundingBox.height() + boundingBox.depth()/2 * boundingBox.depth()/2 + boundingBox.width()/2 * boundingBox.width()/2, 1/3.0);
-        double projectileDistance = entityVelocity.length();
 
-        for (Entity e : instance.getNearbyEntities(point, extendRadius + maxDistance + projectileDistance)) {
-            if (!entityFilter.apply(e)) continue;
-            if (!e.hasCollision()) continue;
+        // Only the entities close to the path of this tick
+        Collector collector = COLLECTOR.get();
+        if (collector.inUse) {
+            // Called again from the entity filter
+            collector = new Collector();
+        }
+        collector.start(boundingBox, point, entityVelocity, entityFilter, sweepResult, minimumRes);
+        final Entity overlapping;
+        final double closestDistance;
+        final Entity closestEntity;
+        final Entity hitEntity;
+        try {
+            instance.getEntityTracker().entitiesAlongRay(point, entityVelocity, extendRadius + maxDistance,
+                    EntityTracker.Target.ENTITIES, collector);
+            overlapping = collector.overlapping;
+            closestDistance = collector.closestDistance;
+            closestEntity = collector.closestEntity;
+            hitEntity = collector.hitEntity;
+        } finally {
+            collector.clear();
+        }
 
-            // Overlapping with entity, math can't be done we return the entity
-            if (e.getBoundingBox().intersectBox(e.getPosition().sub(point), boundingBox)) {
-                var p = Pos.fromPoint(point);
-
-                return new PhysicsResult(p,
-                        Vec.ZERO,
-                        false,
-                        true,
-                        true,
-                        true,
-                        entityVelocity,
-                        new Pos[] {p, p, p},
-                        new Shape[] {e, e, e},
-                        true,
-                        sweepResult);
-            }
+        if (hitEntity != null) {
+            // Only built for the last hit, which is the closest, rather than for every hit
+            sweepResult.collidedPosition = point.add(entityVelocity.x() * sweepResult.res,
+                    entityVelocity.y() * sweepResult.res, entityVelocity.z() * sweepResult.res);
+            sweepResult.collidedShape = hitEntity.getBoundingBox();
+        }
 
-            // Check collisions with entity
-            e.getBoundingBox().intersectBoxSwept(point, entityVelocity, e.getPosition(), boundingBox, sweepResult);
+        if (overlapping != null) {
+            // Overlapping with entity, math can't be done we return the entity
+            var p = Pos.fromPoint(point);
 
-            if (sweepResult.res < closestDistance && sweepResult.res < 1) {
-                closestDistance = sweepResult.res;
-                closestEntity = e;
-            }
+            return new PhysicsResult(p,
+                    Vec.ZERO,
+                    false,
+                    true,
+                    true,
+                    true,
+                    entityVelocity,
+                    new Pos[] {p, p, p},
+                    new Shape[] {overlapping, overlapping, overlapping},
+                    true,
+                    sweepResult);
         }
 
         Pos[] collisionPoints = new Pos[3];
@@ -65,4 +82,68 @@ final class EntityCollision {
                 sweepResult
         );
     }
+
+    /**
+     * Visits the entities along the path, reused by each thread as collisions are checked every tick.
+     */
+    private static final class Collector implements Consumer<Entity> {
+        private BoundingBox boundingBox;
+        private Point point;
+        private Vec entityVelocity;
+        private Function<Entity, Boolean> entityFilter;
+        private SweepResult sweepResult;
+        private double closestDistance;
+        private Entity closestEntity;
+        private Entity hitEntity;
+        private Entity overlapping;
+        private boolean inUse;
+
+        void start(BoundingBox boundingBox, Point point, Vec entityVelocity, Function<Entity, Boolean> entityFilter,
+                   SweepResult sweepResult, double closestDistance) {
+            this.boundingBox = boundingBox;
+            this.point = point;
+            this.entityVelocity = entityVelocity;
+            this.entityFilter = entityFilter;
+            this.sweepResult = sweepResult;
+            this.closestDistance = closestDistance;
+            this.inUse = true;
+        }
+
+        void clear() {
+            this.boundingBox = null;
+            this.point = null;
+            this.entityVelocity = null;
+            this.entityFilter = null;
+            this.sweepResult = null;
+            this.closestEntity = null;
+            this.hitEntity = null;
+            this.overlapping = null;
+            this.inUse = false;
+        }
+
+        @Override
+        public void accept(Entity e) {
+            if (overlapping != null) return;
+            if (!entityFilter.apply(e)) return;
+            if (!e.hasCollision()) return;
+
+            final BoundingBox entityBox = e.getBoundingBox();
+            final Pos position = e.getPosition();
+            if (entityBox.intersectBox(position.x() - point.x(), position.y() - point.y(), position.z() - point.z(), boundingBox)) {
+                this.overlapping = e;
+                return;
+            }
+
+            // Check collisions with entity
+            if (RayUtils.BoundingBoxIntersectionCheck(boundingBox, point, entityVelocity, entityBox,
+                    position.x(), position.y(), position.z(), sweepResult)) {
+                this.hitEntity = e;
+            }
+
+            if (sweepResult.res < closestDistance && sweepResult.res < 1) {
+                this.closestDistance = sweepResult.res;
+                this.closestEntity = e;
+            }
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Steps the block physics of many simple entities at once.
+ * <p>
+ * Entities are stored as a struct of arrays and the results are written back into the same arrays,
+ * a step does not allocate. Bounds and results are computed in flat loops over primitive arrays
+ * which the JIT can vectorize, only the block lookups are done per entity.
+ * <p>
+ * Movement is resolved axis by axis (Y, X then Z) against the collision boxes of the blocks,
+ * without stepping up nor entity collisions, which fits items, falling blocks and projectiles.
+ * The block getter should not throw on unloaded chunks, prefer a snapshot or a
+ * {@link net.minestom.server.utils.chunk.ChunkCache}.
+ */
+@ApiStatus.Experimental
+public final class PhysicsBatch {
+    private static final double EPSILON = Vec.EPSILON;
+
+    private final int capacity;
+    private int size;
+
+    // Position and box of each entity, the box is relative to the position
+    private final double[] x, y, z;
+    private final double[] minX, minY, minZ, maxX, maxY, maxZ;
+    // Movement requested for the step, then the new velocity
+    private final double[] velocityX, velocityY, velocityZ;
+    // Allowed movement, computed by the step
+    private final double[] deltaX, deltaY, deltaZ;
+    private final boolean[] collisionX, collisionY, collisionZ, onGround;
+
+    public PhysicsBatch(int capacity) {
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+        this.minX = new double[capacity];
+        this.minY = new double[capacity];
+        this.minZ = new double[capacity];
+        this.maxX = new double[capacity];
+        this.maxY = new double[capacity];
+        this.maxZ = new double[capacity];
+        this.velocityX = new double[capacity];
+        this.velocityY = new double[capacity];
+        this.velocityZ = new double[capacity];
+        this.deltaX = new double[capacity];
+        this.deltaY = new double[capacity];
+        this.deltaZ = new double[capacity];
+        this.collisionX = new boolean[capacity];
+        this.collisionY = new boolean[capacity];
+        this.collisionZ = new boolean[capacity];
+        this.onGround = new boolean[capacity];
+    }
+
+    /**
+     * Adds an entity to the batch.
+     *
+     * @param position    the entity position
+     * @param velocity    the movement of the entity during the step
+     * @param boundingBox the entity bounding box
+     * @return the index of the entity in the batch
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(@NotNull Point position, @NotNull Vec velocity, @NotNull BoundingBox boundingBox) {
+        final int index = size;
+        if (index == capacity) throw new IllegalStateException("Batch is full: " + capacity);
+        this.size = index + 1;
+        this.minX[index] = boundingBox.minX();
+        this.minY[index] = boundingBox.minY();
+        this.minZ[index] = boundingBox.minZ();
+        this.maxX[index] = boundingBox.maxX();
+        this.maxY[index] = boundingBox.maxY();
+        this.maxZ[index] = boundingBox.maxZ();
+        set(index, position.x(), position.y(), position.z(), velocity.x(), velocity.y(), velocity.z());
+        return index;
+    }
+
+    /**
+     * Changes the position and velocity of an entity, keeping its bounding box.
+     */
+    public void set(int index, double x, double y, double z, double velocityX, double velocityY, double velocityZ) {
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+        this.velocityX[index] = velocityX;
+        this.velocityY[index] = velocityY;
+        this.velocityZ[index] = velocityZ;
+    }
+
+    /**
+     * Removes all the entities, the buffers are kept.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves every entity by its velocity, stopping at the blocks in the way.
+     * <p>
+     * Positions are updated, the velocity of each axis with a collision is set to 0.
+     *
+     * @param getter the blocks to collide with
+     */
+    public void step(@NotNull Block.Getter getter) {
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            double boxMinX = x[i] + minX[i], boxMinY = y[i] + minY[i], boxMinZ = z[i] + minZ[i];
+            double boxMaxX = x[i] + maxX[i], boxMaxY = y[i] + maxY[i], boxMaxZ = z[i] + maxZ[i];
+            // Y first, to land before moving horizontally
+            final double dy = clip(getter, 1, velocityY[i], boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ);
+            boxMinY += dy;
+            boxMaxY += dy;
+            final double dx = clip(getter, 0, velocityX[i], boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ);
+            boxMinX += dx;
+            boxMaxX += dx;
+            final double dz = clip(getter, 2, velocityZ[i], boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ);
+            this.deltaX[i] = dx;
+            this.deltaY[i] = dy;
+            this.deltaZ[i] = dz;
+        }
+        // Branch-free results
+        for (int i = 0; i < size; i++) {
+            final boolean hitX = deltaX[i] != velocityX[i];
+            final boolean hitY = deltaY[i] != velocityY[i];
+            final boolean hitZ = deltaZ[i] != velocityZ[i];
+            this.collisionX[i] = hitX;
+            this.collisionY[i] = hitY;
+            this.collisionZ[i] = hitZ;
+            this.onGround[i] = hitY & velocityY[i] < 0;
+            this.x[i] += deltaX[i];
+            this.y[i] += deltaY[i];
+            this.z[i] += deltaZ[i];
+            this.velocityX[i] = hitX ? 0 : velocityX[i];
+            this.velocityY[i] = hitY ? 0 : velocityY[i];
+            this.velocityZ[i] = hitZ ? 0 : velocityZ[i];
+        }
+    }
+
+    public double x(int index) {
+        return x[index];
+    }
+
+    public double y(int index) {
+        return y[index];
+    }
+
+    public double z(int index) {
+        return z[index];
+    }
+
+    public double velocityX(int index) {
+        return velocityX[index];
+    }
+
+    public double velocityY(int index) {
+        return velocityY[index];
+    }
+
+    public double velocityZ(int index) {
+        return velocityZ[index];
+    }
+
+    public boolean collisionX(int index) {
+        return collisionX[index];
+    }
+
+    public boolean collisionY(int index) {
+        return collisionY[index];
+    }
+
+    public boolean collisionZ(int index) {
+        return collisionZ[index];
+    }
+
+    public boolean isOnGround(int index) {
+        return onGround[index];
+    }
+
+    /**
+     * Computes how far a box can move along an axis.
+     *
+     * @param axis     0 for X, 1 for Y, 2 for Z
+     * @param movement the requested movement along the axis
+     * @return the allowed movement, with the same sign
+     */
+    private static double clip(Block.Getter getter, int axis, double movement,
+                               double boxMinX, double boxMinY, double boxMinZ,
+                               double boxMaxX, double boxMaxY, double boxMaxZ) {
+        if (movement == 0) return 0;
+        // Blocks overlapped by the box swept along the axis
+        int startX = (int) Math.floor(boxMinX + EPSILON), endX = (int) Math.floor(boxMaxX - EPSILON);
+        // One block lower for the tall shapes (fences, walls)
+        int startY = (int) Math.floor(boxMinY + EPSILON) - 1, endY = (int) Math.floor(boxMaxY - EPSILON);
+        int startZ = (int) Math.floor(boxMinZ + EPSILON), endZ = (int) Math.floor(boxMaxZ - EPSILON);
+        switch (axis) {
+            case 0 -> {
+                if (movement > 0) endX = (int) Math.floor(boxMaxX + movement);
+                else startX = (int) Math.floor(boxMinX + movement);
+            }
+            case 1 -> {
+                if (movement > 0) endY = (int) Math.floor(boxMaxY + movement);
+                else startY = (int) Math.floor(boxMinY + movement) - 1;
+            }
+            default -> {
+                if (movement > 0) endZ = (int) Math.floor(boxMaxZ + movement);
+                else startZ = (int) Math.floor(boxMinZ + movement);
+            }
+        }
+        for (int blockX = startX; blockX <= endX; blockX++) {
+            for (int blockY = startY; blockY <= endY; blockY++) {
+                for (int blockZ = startZ; blockZ <= endZ; blockZ++) {
+                    final int stateId = getter.getBlock(blockX, blockY, blockZ, Block.Getter.Condition.TYPE).stateId();
+                    final BoundingBox[] boxes = CollisionTable.boxes(stateId);
+                    for (BoundingBox box : boxes) {
+                        final double shapeMinX = blockX + box.minX(), shapeMaxX = blockX + box.maxX();
+                        final double shapeMinY = blockY + box.minY(), shapeMaxY = blockY + box.maxY();
+                        final double shapeMinZ = blockZ + box.minZ(), shapeMaxZ = blockZ + box.maxZ();
+                        movement = switch (axis) {
+                            case 0 -> overlaps(shapeMinY, shapeMaxY, boxMinY, boxMaxY) && overlaps(shapeMinZ, shapeMaxZ, boxMinZ, boxMaxZ)
+                                    ? clipAxis(movement, shapeMinX, shapeMaxX, boxMinX, boxMaxX) : movement;
+                            case 1 -> overlaps(shapeMinX, shapeMaxX, boxMinX, boxMaxX) && overlaps(shapeMinZ, shapeMaxZ, boxMinZ, boxMaxZ)
+                                    ? clipAxis(movement, shapeMinY, shapeMaxY, boxMinY, boxMaxY) : movement;
+                            default -> overlaps(shapeMinX, shapeMaxX, boxMinX, boxMaxX) && overlaps(shapeMinY, shapeMaxY, boxMinY, boxMaxY)
+                                    ? clipAxis(movement, shapeMinZ, shapeMaxZ, boxMinZ, boxMaxZ) : movement;
+                        };
+                    }
+                }
+            }
+        }
+        return movement;
+    }
+
+    private static boolean overlaps(double shapeMin, double shapeMax, double boxMin, double boxMax) {
+        return shapeMax > boxMin + EPSILON && shapeMin < boxMax - EPSILON;
+    }
+
+    private static double clipAxis(double movement, double shapeMin, double shapeMax, double boxMin, double boxMax) {
+        if (movement > 0 && shapeMin >= boxMax - EPSILON) return Math.min(movement, Math.max(0, shapeMin - boxMax));
+        if (movement < 0 && shapeMax <= boxMin + EPSILON) return Math.max(movement, Math.min(0, shapeMax - boxMin));
+        return movement;
+    }
+}
@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -117,6 +118,30 @@ public final class ShapeImpl implements Shape {
         return new ShapeImpl(collisionBoundingBoxes, occlusionBoundingBoxes, blockEntry);
     }
 
+    /**
+     * Gets the faces fully covered by the occlusion shape.
+     *
+     * @return a bitmask indexed by {@link BlockFace#ordinal()}
+     */
+    @ApiStatus.Internal
+    public byte fullFaces() {
+        return blockOcclusion;
+    }
+
+    /**
+     * Gets the faces not covered at all by the occlusion shape.
+     *
+     * @return a bitmask indexed by {@link BlockFace#ordinal()}
+     */
+    @ApiStatus.Internal
+    public byte airFaces() {
+        return airOcclusion;
+    }
+
+    BoundingBox[] collisionBoundingBoxes() {
+        return collisionBoundingBoxes;
+    }
+
     @Override
     public @NotNull Point relativeStart() {
         return relativeStart;
@@ -161,10 +186,16 @@ public final class ShapeImpl implements Shape {
     @Override
     public boolean intersectBoxSwept(@NotNull Point rayStart, @NotNull Point rayDirection,
                                      @NotNull Point shapePos, @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
+        return intersectBoxSwept(rayStart, rayDirection, shapePos.x(), shapePos.y(), shapePos.z(), moving, finalResult);
+    }
+
+    boolean intersectBoxSwept(@NotNull Point rayStart, @NotNull Point rayDirection,
+                              double shapeX, double shapeY, double shapeZ,
+                              @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
         boolean hitBlock = false;
         for (BoundingBox blockSection : collisionBoundingBoxes) {
             // Update final result if the temp result collision is sooner than the current final result
-            if (RayUtils.BoundingBoxIntersectionCheck(moving, rayStart, rayDirection, blockSection, shapePos, finalResult)) {
+            if (RayUtils.BoundingBoxIntersectionCheck(moving, rayStart, rayDirection, blockSection, shapeX, shapeY, shapeZ, finalResult)) {
                 finalResult.collidedPosition = rayStart.add(rayDirection.mul(finalResult.res));
                 finalResult.collidedShape = this;
                 hitBlock = true;
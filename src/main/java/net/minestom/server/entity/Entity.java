@@ -463,6 +463,8 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @ApiStatus.Internal
     public void updateNewViewer(@NotNull Player player) {
+        // Existing viewers must not miss the pending changes included in the new viewer metadata
+        this.metadata.flush();
         player.sendPacket(getEntityType().registry().spawnType().getSpawnPacket(this));
         if (hasVelocity()) player.sendPacket(getVelocityPacket());
         player.sendPacket(new LazyPacket(this::getMetadataPacket));
@@ -543,6 +545,15 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @Override
     public void tick(long time) {
+        try {
+            tickEntity(time);
+        } finally {
+            // Send the metadata changes of the tick at once, including those made before an early exit
+            this.metadata.flush();
+        }
+    }
+
+    private void tickEntity(long time) {
         if (instance == null || isRemoved() || !ChunkUtils.isLoaded(currentChunk))
             return;
 
@@ -562,7 +573,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             update(time);
 
             ticks++;
-            EventDispatcher.call(new EntityTickEvent(this));
+            EventDispatcher.call(EntityTickEvent.class, () -> new EntityTickEvent(this));
 
             // remove expired effects
             effectTick(time);
@@ -1,14 +1,12 @@
 package net.minestom.server.entity;
 
-import com.extollit.gaming.ai.path.HydrazinePathFinder;
-import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.ai.AIScheduler;
 import net.minestom.server.entity.ai.EntityAI;
 import net.minestom.server.entity.ai.EntityAIGroup;
 import net.minestom.server.entity.pathfinding.NavigableEntity;
 import net.minestom.server.entity.pathfinding.Navigator;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.entity.EntityAttackEvent;
-import net.minestom.server.instance.Instance;
 import net.minestom.server.utils.time.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,7 +15,6 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 public class EntityCreature extends LivingEntity implements NavigableEntity, EntityAI {
@@ -27,6 +24,7 @@ public class EntityCreature extends LivingEntity implements NavigableEntity, Ent
     private final Set<EntityAIGroup> aiGroups = new CopyOnWriteArraySet<>();
 
     private final Navigator navigator = new Navigator(this);
+    private final AIScheduler aiScheduler = new AIScheduler();
 
     private Entity target;
 
@@ -44,8 +42,8 @@ public class EntityCreature extends LivingEntity implements NavigableEntity, Ent
 
     @Override
     public void update(long time) {
-        // AI
-        aiTick(time);
+        // AI, may be deferred under load
+        this.aiScheduler.tick(this, time);
 
         // Path finding
         this.navigator.tick();
@@ -54,13 +52,6 @@ public class EntityCreature extends LivingEntity implements NavigableEntity, Ent
         super.update(time);
     }
 
-    @Override
-    public CompletableFuture<Void> setInstance(@NotNull Instance instance, @NotNull Pos spawnPosition) {
-        this.navigator.setPathFinder(new HydrazinePathFinder(navigator.getPathingEntity(), instance.getInstanceSpace()));
-
-        return super.setInstance(instance, spawnPosition);
-    }
-
     @Override
     public void kill() {
         super.kill();
@@ -105,7 +105,7 @@ public class EntityProjectile extends Entity {
             }
             super.onGround = false;
             setNoGravity(false);
-            EventDispatcher.call(new ProjectileUncollideEvent(this));
+            EventDispatcher.call(ProjectileUncollideEvent.class, () -> new ProjectileUncollideEvent(this));
         }
     }
 
@@ -155,11 +155,15 @@ public final class Metadata {
     public static final byte TYPE_VECTOR3 = 26;
     public static final byte TYPE_QUATERNION = 27;
 
+    // Bit of the changes at this index and above, only sent on change since the vanilla indices are much lower
+    private static final int OVERFLOW_INDEX = Long.SIZE - 1;
     private static final VarHandle NOTIFIED_CHANGES;
+    private static final VarHandle DIRTY_MASK;
 
     static {
         try {
             NOTIFIED_CHANGES = MethodHandles.lookup().findVarHandle(Metadata.class, "notifyAboutChanges", boolean.class);
+            DIRTY_MASK = MethodHandles.lookup().findVarHandle(Metadata.class, "dirtyMask", long.class);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new IllegalStateException(e);
         }
@@ -171,7 +175,9 @@ public final class Metadata {
 
     @SuppressWarnings("FieldMayBeFinal")
     private volatile boolean notifyAboutChanges = true;
-    private final Map<Integer, Entry<?>> notNotifiedChanges = new HashMap<>();
+    // Indices changed since the last flush, one bit per index
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile long dirtyMask;
 
     public Metadata(@Nullable Entity entity) {
         this.entity = entity;
@@ -185,6 +191,13 @@ public final class Metadata {
         return entry != null ? (T) entry.value() : defaultValue;
     }
 
+    /**
+     * Changes an entry, viewers are notified of all the changes of a tick at once.
+     *
+     * @param index the metadata index
+     * @param entry the new entry
+     * @see #flush()
+     */
     public void setIndex(int index, @NotNull Entry<?> entry) {
         Entry<?>[] entries = this.entries;
         // Resize array if necessary
@@ -194,19 +207,20 @@ public final class Metadata {
         }
         entries[index] = entry;
         this.entryMap = null;
-        // Send metadata packet to update viewers and self
+        // Mark the change to update viewers and self
         final Entity entity = this.entity;
         if (entity != null && entity.isActive()) {
-            if (!this.notifyAboutChanges) {
-                synchronized (this.notNotifiedChanges) {
-                    this.notNotifiedChanges.put(index, entry);
-                }
-            } else {
-                entity.sendPacketToViewersAndSelf(new EntityMetaDataPacket(entity.getEntityId(), Map.of(index, entry)));
-            }
+            DIRTY_MASK.getAndBitwiseOr(this, 1L << Math.min(index, OVERFLOW_INDEX));
         }
     }
 
+    /**
+     * Sets whether changes are sent, when disabled changes are kept until re-enabled.
+     * <p>
+     * Re-enabling sends the kept changes immediately.
+     *
+     * @param notifyAboutChanges true to send the changes
+     */
     public void setNotifyAboutChanges(boolean notifyAboutChanges) {
         if (!NOTIFIED_CHANGES.compareAndSet(this, !notifyAboutChanges, notifyAboutChanges))
             return;
@@ -214,16 +228,33 @@ public final class Metadata {
             // Ask future metadata changes to be cached
             return;
         }
+        flush();
+    }
+
+    /**
+     * Sends all the changes made since the last flush in a single packet.
+     * <p>
+     * Called by the entity every tick.
+     */
+    @ApiStatus.Internal
+    public void flush() {
+        if (!notifyAboutChanges || dirtyMask == 0) return;
         final Entity entity = this.entity;
         if (entity == null || !entity.isActive()) return;
-        Map<Integer, Entry<?>> entries;
-        synchronized (this.notNotifiedChanges) {
-            Map<Integer, Entry<?>> awaitingChanges = this.notNotifiedChanges;
-            if (awaitingChanges.isEmpty()) return;
-            entries = Map.copyOf(awaitingChanges);
-            awaitingChanges.clear();
+        final long mask = (long) DIRTY_MASK.getAndSet(this, 0L);
+        if (mask == 0) return;
+        final Entry<?>[] entries = this.entries;
+        Map<Integer, Entry<?>> changes = new HashMap<>(Long.bitCount(mask) * 2);
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            final int index = Long.numberOfTrailingZeros(remaining);
+            final int end = index == OVERFLOW_INDEX ? entries.length : Math.min(index + 1, entries.length);
+            for (int i = index; i < end; i++) {
+                final Entry<?> entry = entries[i];
+                if (entry != null) changes.put(i, entry);
+            }
         }
-        entity.sendPacketToViewersAndSelf(new EntityMetaDataPacket(entity.getEntityId(), entries));
+        if (changes.isEmpty()) return;
+        entity.sendPacketToViewersAndSelf(new EntityMetaDataPacket(entity.getEntityId(), changes));
     }
 
     public @NotNull Map<Integer, Entry<?>> getEntries() {
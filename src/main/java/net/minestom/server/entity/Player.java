@@ -163,7 +163,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     final IntegerBiConsumer chunkRemover = (chunkX, chunkZ) -> {
         // Unload old chunks
         sendPacket(new UnloadChunkPacket(chunkX, chunkZ));
-        EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
+        EventDispatcher.call(PlayerChunkUnloadEvent.class, () -> new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
     };
 
     private final AtomicInteger teleportId = new AtomicInteger();
@@ -453,7 +453,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         if (EXPERIMENT_PERFORM_POSE_UPDATES) updatePose();
 
         // Tick event
-        EventDispatcher.call(new PlayerTickEvent(this));
+        EventDispatcher.call(PlayerTickEvent.class, () -> new PlayerTickEvent(this));
     }
 
     @Override
@@ -801,7 +801,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
                 if (chunk == null || !chunk.isLoaded()) continue;
 
                 sendPacket(chunk.getFullDataPacket());
-                EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
+                EventDispatcher.call(PlayerChunkLoadEvent.class, () -> new PlayerChunkLoadEvent(this, chunkX, chunkZ));
 
                 pendingChunkCount -= 1f;
                 batchSize += 1;
@@ -1392,6 +1392,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
      * and send data to his new viewers.
      */
     protected void refreshAfterTeleport() {
+        this.metadata.flush();
         sendPacketsToViewers(getEntityType().registry().spawnType().getSpawnPacket(this));
 
         // Update for viewers
@@ -2261,6 +2262,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
      * @param connection the connection to show the player to
      */
     protected void showPlayer(@NotNull PlayerConnection connection) {
+        this.metadata.flush();
         connection.sendPacket(getEntityType().registry().spawnType().getSpawnPacket(this));
         connection.sendPacket(getVelocityPacket());
         connection.sendPacket(getMetadataPacket());
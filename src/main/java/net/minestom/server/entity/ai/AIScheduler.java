@@ -0,0 +1,163 @@
+package net.minestom.server.entity.ai;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.Player;
+import net.minestom.server.thread.TickThread;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when creatures evaluate their AI goals, within a time budget per partition tick.
+ * <p>
+ * Creatures near a player always think. The others think while the budget of the partition being ticked
+ * is not exhausted, after which they are deferred and only think once every {@code minestom.ai.deferred-interval} ticks.
+ * Goals are where paths are requested, following an already found path is not deferred.
+ * <p>
+ * Creatures are ticked in the partition order, the budget is therefore prioritized by distance instead:
+ * the further a creature is from its closest viewer, the larger the part of the budget it leaves to the closer ones.
+ * Creatures without viewer can only use half of the budget.
+ * <p>
+ * The budget is configured with {@code minestom.ai.partition-budget} in nanoseconds, 0 to disable it.
+ */
+@ApiStatus.Experimental
+public final class AIScheduler {
+    private static final long PARTITION_BUDGET = Integer.getInteger("minestom.ai.partition-budget", 1_000_000);
+    private static final int DEFERRED_INTERVAL = Integer.getInteger("minestom.ai.deferred-interval", 4);
+    private static final double NEAR_PLAYER_DISTANCE = Integer.getInteger("minestom.ai.near-player-distance", 32);
+    private static final int NEAR_PLAYER_REFRESH = 20;
+    // Part of the budget reserved to closer creatures, reached at twice the near player distance
+    private static final long MAX_RESERVE = PARTITION_BUDGET / 2;
+
+    private static final Counters COUNTERS = new Counters();
+    // Partition key -> counters, weak as partitions are unloaded with their chunks
+    private static final Map<Object, Counters> PARTITION_COUNTERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Budget> BUDGETS = ThreadLocal.withInitial(Budget::new);
+
+    // As if the last think was long enough ago, so that the first one is never deferred
+    private long lastThink = -DEFERRED_INTERVAL;
+    private long nearPlayerRefresh = Long.MIN_VALUE;
+    private boolean nearPlayer;
+    // Budget left to the closer creatures
+    private long reserve = MAX_RESERVE;
+
+    /**
+     * Ticks the AI of a creature, or defers it.
+     *
+     * @param creature the creature owning this scheduler
+     * @param time     the tick time
+     * @return true if the AI has been ticked
+     */
+    @ApiStatus.Internal
+    public boolean tick(@NotNull EntityCreature creature, long time) {
+        final TickThread thread = TickThread.current();
+        if (PARTITION_BUDGET <= 0 || thread == null) {
+            think(creature, time, null);
+            return true;
+        }
+        final Budget budget = BUDGETS.get();
+        final long partitionTicks = thread.getPartitionTicks();
+        if (budget.partitionTicks != partitionTicks) {
+            budget.partitionTicks = partitionTicks;
+            budget.remaining = PARTITION_BUDGET;
+            final Object partition = thread.getTickedPartition();
+            budget.counters = partition != null ? PARTITION_COUNTERS.computeIfAbsent(partition, key -> new Counters()) : null;
+        }
+
+        final long aliveTicks = creature.getAliveTicks();
+        if (aliveTicks >= nearPlayerRefresh) {
+            refreshDistance(creature);
+            this.nearPlayerRefresh = aliveTicks + NEAR_PLAYER_REFRESH;
+        }
+        if (!nearPlayer && budget.remaining <= reserve && aliveTicks - lastThink < DEFERRED_INTERVAL) {
+            COUNTERS.deferred.increment();
+            if (budget.counters != null) budget.counters.deferred.increment();
+            return false;
+        }
+        final long start = System.nanoTime();
+        think(creature, time, budget.counters);
+        budget.remaining -= System.nanoTime() - start;
+        return true;
+    }
+
+    /**
+     * Gets the number of AI ticks which have been run.
+     */
+    public static long getThinkCount() {
+        return COUNTERS.thinks.sum();
+    }
+
+    /**
+     * Gets the number of AI ticks which have been deferred because the budget of their partition was exhausted.
+     */
+    public static long getDeferredCount() {
+        return COUNTERS.deferred.sum();
+    }
+
+    /**
+     * Gets the number of AI ticks which have been run in a partition.
+     *
+     * @param partition the partition key, usually a chunk
+     */
+    public static long getThinkCount(@NotNull Object partition) {
+        final Counters counters = PARTITION_COUNTERS.get(partition);
+        return counters != null ? counters.thinks.sum() : 0;
+    }
+
+    /**
+     * Gets the number of AI ticks which have been deferred in a partition, to find the starved ones.
+     *
+     * @param partition the partition key, usually a chunk
+     */
+    public static long getDeferredCount(@NotNull Object partition) {
+        final Counters counters = PARTITION_COUNTERS.get(partition);
+        return counters != null ? counters.deferred.sum() : 0;
+    }
+
+    public static void resetCounters() {
+        COUNTERS.thinks.reset();
+        COUNTERS.deferred.reset();
+        synchronized (PARTITION_COUNTERS) {
+            for (Counters counters : PARTITION_COUNTERS.values()) {
+                counters.thinks.reset();
+                counters.deferred.reset();
+            }
+        }
+    }
+
+    private void think(EntityCreature creature, long time, Counters counters) {
+        creature.aiTick(time);
+        this.lastThink = creature.getAliveTicks();
+        COUNTERS.thinks.increment();
+        if (counters != null) counters.thinks.increment();
+    }
+
+    private void refreshDistance(EntityCreature creature) {
+        final Pos position = creature.getPosition();
+        double closest = Double.POSITIVE_INFINITY;
+        for (Player player : creature.getViewers()) {
+            closest = Math.min(closest, player.getPosition().distanceSquared(position));
+        }
+        final double distance = Math.sqrt(closest);
+        this.nearPlayer = distance <= NEAR_PLAYER_DISTANCE;
+        // Linear from no reserve at the near player distance to the maximum at twice of it
+        final double factor = Math.min(1, (distance - NEAR_PLAYER_DISTANCE) / NEAR_PLAYER_DISTANCE);
+        this.reserve = nearPlayer ? 0 : (long) (MAX_RESERVE * factor);
+    }
+
+    private static final class Budget {
+        private long partitionTicks = -1;
+        private long remaining;
+        private Counters counters;
+    }
+
+    private static final class Counters {
+        private final LongAdder thinks = new LongAdder();
+        private final LongAdder deferred = new LongAdder();
+    }
+}
@@ -0,0 +1,437 @@
+package net.minestom.server.entity.pathfinding;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.collision.CollisionTable;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walkability of the blocks of an instance, shared by all the entities pathfinding in it.
+ * <p>
+ * Each section is classified lazily in 2 bits per block from the block palette, and kept up to date
+ * on block changes. Paths are found with a node-bounded A*, complete paths are cached by target
+ * so entities going to the same place can reuse them from any node along the way.
+ * <p>
+ * The grid is thread-safe, paths can be computed outside the tick thread with {@link #findPathAsync(Point, Point, double, boolean)}.
+ */
+@ApiStatus.Internal
+public final class NavigationGrid {
+    private static final int MAX_NODES = Integer.getInteger("minestom.pathfinding.max-nodes", 1024);
+    private static final int MAX_CACHED_PATHS = Integer.getInteger("minestom.pathfinding.max-cached-paths", 256);
+    private static final int MAX_DROP = 3;
+
+    // Block kinds
+    static final int OPEN = 0, SOLID = 1, BLOCKED = 2, DANGER = 3;
+    private static final byte[] KINDS;
+
+    static {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) maxStateId = Math.max(maxStateId, state.stateId());
+        }
+        byte[] kinds = new byte[maxStateId + 1];
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                final int flags = CollisionTable.flags(state.stateId());
+                final int kind;
+                if (block.compare(Block.LAVA) || block.compare(Block.FIRE) || block.compare(Block.SOUL_FIRE)) {
+                    kind = DANGER;
+                } else if ((flags & (CollisionTable.EMPTY | CollisionTable.SHORT)) != 0) {
+                    // Carpets and snow layers can be walked through
+                    kind = OPEN;
+                } else if ((flags & CollisionTable.TALL) != 0) {
+                    // Fences and walls cannot be jumped over
+                    kind = BLOCKED;
+                } else {
+                    kind = SOLID;
+                }
+                kinds[state.stateId()] = (byte) kind;
+            }
+        }
+        KINDS = kinds;
+    }
+
+    private final Instance instance;
+    private final int minY, maxY;
+    // Section index -> 16 blocks of 2 bits per int
+    private final Long2ObjectSyncMap<int[]> sections = Long2ObjectSyncMap.hashmap();
+    private final Long2ObjectSyncMap<CachedPath> paths = Long2ObjectSyncMap.hashmap();
+    // Incremented when a block changes, to discard sections loaded concurrently
+    private final AtomicInteger changes = new AtomicInteger();
+    // Incremented when the walkability changes, to discard cached paths
+    private final AtomicInteger version = new AtomicInteger();
+
+    public NavigationGrid(@NotNull Instance instance) {
+        this.instance = instance;
+        this.minY = instance.getDimensionType().getMinY();
+        this.maxY = minY + instance.getDimensionType().getHeight();
+    }
+
+    /**
+     * Finds a walking path between two positions.
+     *
+     * @param start      the start position, usually the entity position
+     * @param target     the position to go to
+     * @param height     the height of the entity
+     * @param bestEffort true to snap the target to the ground and to return a path to the closest reachable
+     *                   position when the target cannot be reached
+     * @return the positions to go through, excluding the start, or null if no path has been found
+     */
+    public @Nullable List<Point> findPath(@NotNull Point start, @NotNull Point target, double height, boolean bestEffort) {
+        final int blockHeight = Math.max(1, (int) Math.ceil(height));
+        Search search = new Search(blockHeight);
+        final int startX = start.blockX(), startZ = start.blockZ();
+        final int startY = search.snapDown(startX, (int) Math.floor(start.y() + 0.5), startZ);
+        final int targetX = target.blockX(), targetZ = target.blockZ();
+        final int targetY = bestEffort ? search.snapDown(targetX, target.blockY(), targetZ) : target.blockY();
+        final long startNode = node(startX, startY, startZ);
+        final long targetNode = node(targetX, targetY, targetZ);
+
+        // Reuse the path of another entity going to the same place
+        final CachedPath cached = paths.get(targetNode);
+        if (cached != null) {
+            if (cached.version == version.get() && cached.height == blockHeight) {
+                final int index = cached.index.getOrDefault(startNode, -1);
+                if (index != -1) return cached.points.subList(index + 1, cached.points.size());
+            } else {
+                this.paths.remove(targetNode, cached);
+            }
+        }
+
+        final int currentVersion = this.version.get();
+        final long[] nodes = search.run(startNode, targetNode, bestEffort);
+        if (nodes == null) return null;
+        List<Point> points = new ArrayList<>(nodes.length);
+        for (long node : nodes) points.add(new Vec(nodeX(node) + 0.5, nodeY(node), nodeZ(node) + 0.5));
+        points = Collections.unmodifiableList(points);
+        // Sections loaded during a block change are not tracked by the grid, neither is the path
+        if (nodes[nodes.length - 1] == targetNode && !search.transientSections) {
+            if (paths.size() >= MAX_CACHED_PATHS) paths.clear();
+            Long2IntOpenHashMap index = new Long2IntOpenHashMap(nodes.length);
+            for (int i = 0; i < nodes.length; i++) index.put(nodes[i], i);
+            this.paths.put(targetNode, new CachedPath(points, index, currentVersion, blockHeight));
+        }
+        return points.subList(1, points.size());
+    }
+
+    /**
+     * Same as {@link #findPath(Point, Point, double, boolean)}, computed by the pathfinding threads.
+     */
+    public @NotNull CompletableFuture<@Nullable List<Point>> findPathAsync(@NotNull Point start, @NotNull Point target,
+                                                                          double height, boolean bestEffort) {
+        return CompletableFuture.supplyAsync(() -> findPath(start, target, height, bestEffort), Threads.EXECUTOR);
+    }
+
+    /**
+     * Updates the grid after a block change.
+     */
+    public void blockChanged(int x, int y, int z, int stateId) {
+        this.changes.incrementAndGet();
+        final int[] kinds = sections.get(sectionIndexAt(x, y, z));
+        if (kinds == null) return;
+        final int index = blockIndex(x, y, z);
+        final int shift = (index & 15) << 1;
+        final int kind = kind(stateId);
+        final int word = kinds[index >>> 4];
+        if ((word >>> shift & 3) == kind) return;
+        kinds[index >>> 4] = word & ~(3 << shift) | kind << shift;
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Forgets the sections of a chunk, to call when it is loaded or unloaded.
+     */
+    public void invalidateChunk(int chunkX, int chunkZ) {
+        this.changes.incrementAndGet();
+        boolean removed = false;
+        for (int sectionY = minY >> 4; sectionY < maxY >> 4; sectionY++) {
+            removed |= sections.remove(sectionIndex(chunkX, sectionY, chunkZ)) != null;
+        }
+        if (removed) this.version.incrementAndGet();
+    }
+
+    /**
+     * Gets the kind of block, {@link #BLOCKED} if its chunk is not loaded.
+     */
+    int kind(int x, int y, int z) {
+        if (y < minY || y >= maxY) return BLOCKED;
+        final long key = sectionIndexAt(x, y, z);
+        int[] kinds = sections.get(key);
+        if (kinds == null) kinds = loadSection(key, x, y, z, null);
+        return kinds != null ? kind(kinds, x, y, z) : BLOCKED;
+    }
+
+    private int[] loadSection(long key, int x, int y, int z, @Nullable Search search) {
+        final Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordinate(x), ChunkUtils.getChunkCoordinate(z));
+        if (!ChunkUtils.isLoaded(chunk)) return null;
+        final int changes = this.changes.get();
+        int[] kinds = new int[256];
+        // The tick threads resize and replace the palette under the chunk lock
+        synchronized (chunk) {
+            final Palette palette = chunk.getSection(ChunkUtils.getChunkCoordinate(y)).blockPalette();
+            palette.getAll((blockX, blockY, blockZ, value) -> {
+                final int kind = kind(value);
+                if (kind == OPEN) return;
+                final int index = blockX | blockZ << 4 | blockY << 8;
+                kinds[index >>> 4] |= kind << ((index & 15) << 1);
+            });
+        }
+        // Only keep the section if no block changed meanwhile
+        if (this.changes.get() == changes) {
+            final int[] previous = sections.putIfAbsent(key, kinds);
+            if (previous != null) return previous;
+        } else if (search != null) {
+            search.transientSections = true;
+        }
+        return kinds;
+    }
+
+    private static int kind(int[] kinds, int x, int y, int z) {
+        final int index = blockIndex(x, y, z);
+        return kinds[index >>> 4] >>> ((index & 15) << 1) & 3;
+    }
+
+    private static int kind(int stateId) {
+        return stateId >= 0 && stateId < KINDS.length ? KINDS[stateId] : OPEN;
+    }
+
+    private static int blockIndex(int x, int y, int z) {
+        return (x & 15) | (z & 15) << 4 | (y & 15) << 8;
+    }
+
+    private static long sectionIndexAt(int x, int y, int z) {
+        return sectionIndex(ChunkUtils.getChunkCoordinate(x), ChunkUtils.getChunkCoordinate(y), ChunkUtils.getChunkCoordinate(z));
+    }
+
+    private static long sectionIndex(int chunkX, int sectionY, int chunkZ) {
+        return ((long) chunkX & 0x3FFFFF) << 42 | ((long) chunkZ & 0x3FFFFF) << 20 | (sectionY & 0xFFFFF);
+    }
+
+    static long node(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (y & 0xFFF);
+    }
+
+    static int nodeX(long node) {
+        return (int) (node >> 38);
+    }
+
+    static int nodeY(long node) {
+        return (int) (node << 52 >> 52);
+    }
+
+    static int nodeZ(long node) {
+        return (int) (node << 26 >> 38);
+    }
+
+    private record CachedPath(List<Point> points, Long2IntOpenHashMap index, int version, int height) {
+    }
+
+    private static final class Threads {
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Integer.getInteger("minestom.pathfinding.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 4)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Ms-Pathfinding");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * A* over the walkable blocks, for a single request.
+     */
+    private final class Search {
+        private static final int[] DIRECTION_X = {1, -1, 0, 0, 1, 1, -1, -1};
+        private static final int[] DIRECTION_Z = {0, 0, 1, -1, 1, -1, 1, -1};
+        private static final double DIAGONAL_COST = Math.sqrt(2);
+
+        private final int height;
+        private final Long2DoubleOpenHashMap costs = new Long2DoubleOpenHashMap();
+        private final Long2LongOpenHashMap parents = new Long2LongOpenHashMap();
+        private final LongOpenHashSet closed = new LongOpenHashSet();
+        // Binary heap of the open nodes by estimated cost
+        private long[] heapNodes = new long[64];
+        private double[] heapScores = new double[64];
+        private int heapSize;
+        // Last section, most lookups are in the same one
+        private long lastKey = Long.MIN_VALUE;
+        private int[] lastSection;
+        // Whether a section used by the search could not be kept in the grid
+        boolean transientSections;
+
+        Search(int height) {
+            this.height = height;
+            this.costs.defaultReturnValue(Double.POSITIVE_INFINITY);
+        }
+
+        long[] run(long startNode, long targetNode, boolean bestEffort) {
+            final int targetX = nodeX(targetNode), targetY = nodeY(targetNode), targetZ = nodeZ(targetNode);
+            long closest = startNode;
+            double closestDistance = Double.POSITIVE_INFINITY;
+            costs.put(startNode, 0);
+            push(startNode, 0);
+            int expanded = 0;
+            while (heapSize > 0 && expanded < MAX_NODES) {
+                final long node = pop();
+                // Already expanded with a lower cost
+                if (!closed.add(node)) continue;
+                expanded++;
+                if (node == targetNode) return path(node);
+                final int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+                final double cost = costs.get(node);
+                final double distance = heuristic(x, y, z, targetX, targetY, targetZ);
+                if (distance < closestDistance) {
+                    closest = node;
+                    closestDistance = distance;
+                }
+                for (int direction = 0; direction < DIRECTION_X.length; direction++) {
+                    final int dx = DIRECTION_X[direction], dz = DIRECTION_Z[direction];
+                    final int nx = x + dx, nz = z + dz;
+                    if (direction >= 4) {
+                        // Diagonal, only on flat ground without cutting corners
+                        if (!walkable(nx, y, nz) || !walkable(x + dx, y, z) || !walkable(x, y, z + dz)) continue;
+                        visit(node, node(nx, y, nz), cost + DIAGONAL_COST, nx, y, nz, targetX, targetY, targetZ);
+                        continue;
+                    }
+                    if (walkable(nx, y, nz)) {
+                        visit(node, node(nx, y, nz), cost + 1, nx, y, nz, targetX, targetY, targetZ);
+                    } else if (walkable(nx, y + 1, nz) && open(x, y + height, z)) {
+                        // Jump
+                        visit(node, node(nx, y + 1, nz), cost + 1.5, nx, y + 1, nz, targetX, targetY, targetZ);
+                    } else if (open(nx, y, nz)) {
+                        // Fall
+                        for (int drop = 1; drop <= MAX_DROP; drop++) {
+                            if (walkable(nx, y - drop, nz)) {
+                                visit(node, node(nx, y - drop, nz), cost + 1 + drop * 0.5, nx, y - drop, nz, targetX, targetY, targetZ);
+                                break;
+                            }
+                            if (kind(nx, y - drop, nz) != OPEN) break;
+                        }
+                    }
+                }
+            }
+            return bestEffort && closest != startNode ? path(closest) : null;
+        }
+
+        private void visit(long parent, long node, double cost, int x, int y, int z, int targetX, int targetY, int targetZ) {
+            if (cost >= costs.get(node)) return;
+            costs.put(node, cost);
+            parents.put(node, parent);
+            push(node, cost + heuristic(x, y, z, targetX, targetY, targetZ));
+        }
+
+        private long[] path(long node) {
+            long[] nodes = new long[16];
+            int length = 0;
+            while (true) {
+                if (length == nodes.length) nodes = Arrays.copyOf(nodes, length * 2);
+                nodes[length++] = node;
+                if (!parents.containsKey(node)) break;
+                node = parents.get(node);
+            }
+            // Start first
+            long[] result = new long[length];
+            for (int i = 0; i < length; i++) result[i] = nodes[length - 1 - i];
+            return result;
+        }
+
+        /**
+         * Lowers a position to the first walkable block below it, if any within {@link #MAX_DROP} blocks.
+         */
+        int snapDown(int x, int y, int z) {
+            for (int drop = 0; drop <= MAX_DROP; drop++) {
+                if (walkable(x, y - drop, z)) return y - drop;
+                if (kind(x, y - drop, z) != OPEN) break;
+            }
+            return y;
+        }
+
+        private boolean walkable(int x, int y, int z) {
+            if (kind(x, y - 1, z) != SOLID) return false;
+            for (int i = 0; i < height; i++) {
+                if (!open(x, y + i, z)) return false;
+            }
+            return true;
+        }
+
+        private boolean open(int x, int y, int z) {
+            return kind(x, y, z) == OPEN;
+        }
+
+        private int kind(int x, int y, int z) {
+            if (y < minY || y >= maxY) return BLOCKED;
+            final long key = sectionIndexAt(x, y, z);
+            int[] section = this.lastSection;
+            if (key != lastKey || section == null) {
+                section = sections.get(key);
+                if (section == null) section = loadSection(key, x, y, z, this);
+                this.lastKey = key;
+                this.lastSection = section;
+            }
+            return section != null ? NavigationGrid.kind(section, x, y, z) : BLOCKED;
+        }
+
+        private static double heuristic(int x, int y, int z, int targetX, int targetY, int targetZ) {
+            final int dx = Math.abs(targetX - x), dz = Math.abs(targetZ - z);
+            // Octile distance
+            return Math.max(dx, dz) + (DIAGONAL_COST - 1) * Math.min(dx, dz) + Math.abs(targetY - y);
+        }
+
+        private void push(long node, double score) {
+            if (heapSize == heapNodes.length) {
+                this.heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                this.heapScores = Arrays.copyOf(heapScores, heapSize * 2);
+            }
+            int index = heapSize++;
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (heapScores[parent] <= score) break;
+                heapNodes[index] = heapNodes[parent];
+                heapScores[index] = heapScores[parent];
+                index = parent;
+            }
+            heapNodes[index] = node;
+            heapScores[index] = score;
+        }
+
+        private long pop() {
+            final long result = heapNodes[0];
+            final int size = --heapSize;
+            final long node = heapNodes[size];
+            final double score = heapScores[size];
+            int index = 0;
+            while (true) {
+                int child = index * 2 + 1;
+                if (child >= size) break;
+                if (child + 1 < size && heapScores[child + 1] < heapScores[child]) child++;
+                if (heapScores[child] >= score) break;
+                heapNodes[index] = heapNodes[child];
+                heapScores[index] = heapScores[child];
+                index = child;
+            }
+            heapNodes[index] = node;
+            heapScores[index] = score;
+            return result;
+        }
+    }
+}
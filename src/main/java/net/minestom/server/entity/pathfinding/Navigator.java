@@ -1,8 +1,6 @@
 package net.minestom.server.entity.pathfinding;
 
-import com.extollit.gaming.ai.path.HydrazinePathFinder;
-import com.extollit.gaming.ai.path.PathOptions;
-import com.extollit.gaming.ai.path.model.IPath;
+import net.minestom.server.attribute.Attribute;
 import net.minestom.server.collision.CollisionUtils;
 import net.minestom.server.collision.PhysicsResult;
 import net.minestom.server.coordinate.Point;
@@ -19,21 +17,31 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-// TODO all pathfinding requests could be processed in another thread
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Necessary object for all {@link NavigableEntity}.
+ * <p>
+ * Paths are found with the {@link NavigationGrid} of the entity instance.
  */
 public final class Navigator {
-    private final PFPathingEntity pathingEntity;
-    private HydrazinePathFinder pathFinder;
+    // Horizontal distance squared at which a node is considered reached
+    private static final double NODE_REACHED_DISTANCE = 0.4 * 0.4;
+    // Ticks spent without reaching the next node before giving up the path
+    private static final int MAX_STUCK_TICKS = 100;
+
     private Point pathPosition;
+    private List<Point> path;
+    private int pathIndex;
+    private int stuckTicks;
+    // Incremented by each request, to ignore outdated asynchronous results
+    private int request;
 
     private final Entity entity;
 
     public Navigator(@NotNull Entity entity) {
         this.entity = entity;
-        this.pathingEntity = new PFPathingEntity(this);
     }
 
     /**
@@ -89,42 +97,12 @@ public final class Navigator {
             // Tried to set path to the same target position
             return false;
         }
+        reset();
         final Instance instance = entity.getInstance();
-        if (pathFinder == null) {
-            // Unexpected error
-            return false;
-        }
-        this.pathFinder.reset();
-        if (point == null) {
-            return false;
-        }
-        // Can't path with a null instance.
-        if (instance == null) {
-            return false;
-        }
-        // Can't path outside the world border
-        final WorldBorder worldBorder = instance.getWorldBorder();
-        if (!worldBorder.isInside(point)) {
-            return false;
-        }
-        // Can't path in an unloaded chunk
-        final Chunk chunk = instance.getChunkAt(point);
-        if (!ChunkUtils.isLoaded(chunk)) {
-            return false;
-        }
-
-        final PathOptions pathOptions = new PathOptions()
-                .targetingStrategy(bestEffort ? PathOptions.TargetingStrategy.gravitySnap :
-                        PathOptions.TargetingStrategy.none);
-        final IPath path = pathFinder.initiatePathTo(
-                point.x(),
-                point.y(),
-                point.z(),
-                pathOptions);
-
-        final boolean success = path != null;
-        this.pathPosition = success ? point : null;
-        return success;
+        if (!canPathTo(instance, point)) return false;
+        final List<Point> path = instance.getNavigationGrid().findPath(entity.getPosition(), point,
+                entity.getBoundingBox().height(), bestEffort);
+        return applyPath(point, path);
     }
 
     /**
@@ -134,13 +112,61 @@ public final class Navigator {
         return setPathTo(position, true);
     }
 
+    /**
+     * Same as {@link #setPathTo(Point, boolean)} but computes the path outside the calling thread.
+     * <p>
+     * The entity keeps its current path until the new one is found.
+     *
+     * @return a future completed with true if a path has been found
+     */
+    public synchronized @NotNull CompletableFuture<Boolean> setPathToAsync(@Nullable Point point, boolean bestEffort) {
+        if (point != null && pathPosition != null && point.samePoint(pathPosition)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        final Instance instance = entity.getInstance();
+        if (!canPathTo(instance, point)) {
+            reset();
+            return CompletableFuture.completedFuture(false);
+        }
+        final int request = ++this.request;
+        return instance.getNavigationGrid().findPathAsync(entity.getPosition(), point,
+                        entity.getBoundingBox().height(), bestEffort)
+                .thenApply(path -> {
+                    synchronized (this) {
+                        // Replaced by a newer request
+                        if (request != this.request) return false;
+                        return applyPath(point, path);
+                    }
+                });
+    }
+
     @ApiStatus.Internal
     public synchronized void tick() {
         if (pathPosition == null) return; // No path
         if (entity instanceof LivingEntity && ((LivingEntity) entity).isDead())
             return; // No pathfinding tick for dead entities
-        if (pathFinder.updatePathFor(pathingEntity) == null) {
+        final List<Point> path = this.path;
+        final Pos position = entity.getPosition();
+        Point next = path.get(pathIndex);
+        double dx = next.x() - position.x(), dz = next.z() - position.z();
+        if (dx * dx + dz * dz < NODE_REACHED_DISTANCE && Math.abs(next.y() - position.y()) < 1) {
+            if (++pathIndex == path.size()) {
+                // Arrived
+                reset();
+                return;
+            }
+            next = path.get(pathIndex);
+            this.stuckTicks = 0;
+        } else if (++stuckTicks > MAX_STUCK_TICKS) {
             reset();
+            return;
+        }
+        moveTowards(next, getAttributeValue(Attribute.MOVEMENT_SPEED));
+        // After any negative y movement, entities will always be extremely slightly below floor level.
+        // This +0.00001D is here to offset this error and stop the entity from permanently jumping.
+        final double entityY = entity.getPosition().y() + 0.00001D;
+        if (entityY < next.y() && entity.isOnGround()) {
+            jump(1);
         }
     }
 
@@ -157,18 +183,39 @@ public final class Navigator {
         return entity;
     }
 
-    @ApiStatus.Internal
-    public @NotNull PFPathingEntity getPathingEntity() {
-        return pathingEntity;
+    private boolean canPathTo(@Nullable Instance instance, @Nullable Point point) {
+        // Can't path with a null instance.
+        if (point == null || instance == null) return false;
+        // Can't path outside the world border
+        final WorldBorder worldBorder = instance.getWorldBorder();
+        if (!worldBorder.isInside(point)) return false;
+        // Can't path in an unloaded chunk
+        final Chunk chunk = instance.getChunkAt(point);
+        return ChunkUtils.isLoaded(chunk);
     }
 
-    @ApiStatus.Internal
-    public void setPathFinder(@Nullable HydrazinePathFinder pathFinder) {
-        this.pathFinder = pathFinder;
+    private boolean applyPath(@NotNull Point point, @Nullable List<Point> path) {
+        if (path == null || path.isEmpty()) {
+            reset();
+            return path != null;
+        }
+        this.path = path;
+        this.pathIndex = 0;
+        this.stuckTicks = 0;
+        this.pathPosition = point;
+        return true;
     }
 
     private void reset() {
         this.pathPosition = null;
-        this.pathFinder.reset();
+        this.path = null;
+        this.request++;
+    }
+
+    private float getAttributeValue(@NotNull Attribute attribute) {
+        if (entity instanceof LivingEntity) {
+            return ((LivingEntity) entity).getAttributeValue(attribute);
+        }
+        return 0f;
     }
 }
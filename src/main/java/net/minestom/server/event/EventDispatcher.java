@@ -3,13 +3,51 @@ package net.minestom.server.event;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.event.trait.CancellableEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Supplier;
+
+/**
+ * Calls events on the global event handler.
+ * <p>
+ * Events called on hot paths (every tick, packet or chunk) should be called with {@link #call(Class, Supplier)},
+ * to only be created when listened to.
+ */
 public final class EventDispatcher {
 
     public static void call(@NotNull Event event) {
         MinecraftServer.getGlobalEventHandler().call(event);
     }
 
+    /**
+     * Calls the event created by {@code supplier}, only if {@code eventType} has a listener.
+     * <p>
+     * The handle is looked up once, for both the listener check and the call.
+     *
+     * @param eventType the exact type of the event
+     * @param supplier  the event constructor
+     * @param <E>       the event type
+     * @return the called event, to read its result, or null if not listened to
+     */
+    public static <E extends Event> @Nullable E call(@NotNull Class<E> eventType, @NotNull Supplier<@NotNull E> supplier) {
+        final ListenerHandle<E> handle = getHandle(eventType);
+        if (!handle.hasListener()) return null;
+        final E event = supplier.get();
+        handle.call(event);
+        return event;
+    }
+
+    /**
+     * Gets if {@code eventType} has a listener, to avoid creating events nobody listens to.
+     *
+     * @param eventType the exact type of the event
+     * @return true if the event has 1 or more listeners
+     * @see ListenerHandle#hasListener()
+     */
+    public static boolean hasListener(@NotNull Class<? extends Event> eventType) {
+        return MinecraftServer.getGlobalEventHandler().hasListener(eventType);
+    }
+
     public static <E extends Event> ListenerHandle<E> getHandle(@NotNull Class<E> handleType) {
         return MinecraftServer.getGlobalEventHandler().getHandle(handleType);
     }
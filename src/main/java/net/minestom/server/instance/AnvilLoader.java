@@ -2,12 +2,12 @@ package net.minestom.server.instance;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.IntIntImmutablePair;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -22,40 +22,50 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Loads and saves chunks from a world folder in the anvil format.
+ * <p>
+ * Region files are accessed asynchronously, each of them has its own queue of operations (see {@link #getQueueDepth(int, int)}).
+ * The number of queued operations is bounded by {@link #getMaxInFlightOperations()},
+ * further requests wait in memory for a slot without blocking the caller.
+ */
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("minestom.anvil.max-in-flight", 256);
 
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
     private final Path path;
     private final Path levelPath;
     private final Path regionPath;
 
-    private static class RegionCache extends ConcurrentHashMap<IntIntImmutablePair, Set<IntIntImmutablePair>> {
-    }
-
-    /**
-     * Represents the chunks currently loaded per region. Used to determine when a region file can be unloaded.
-     */
-    private final RegionCache perRegionLoadedChunks = new RegionCache();
+    // Region index -> queue, removed once all the chunks of the region are unloaded
+    private final Map<Long, RegionFileQueue> regions = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final RegionFileQueue.InFlight inFlight;
 
     // thread local to avoid contention issues with locks
     private final ThreadLocal<Int2ObjectMap<BlockState>> blockStateId2ObjectCacheTLS = ThreadLocal.withInitial(Int2ObjectArrayMap::new);
 
-    public AnvilLoader(@NotNull Path path) {
+    public AnvilLoader(@NotNull Path path, int maxInFlight) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("The in-flight limit must be positive");
         this.path = path;
         this.levelPath = path.resolve("level.dat");
         this.regionPath = path.resolve("region");
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new RegionFileQueue.InFlight(maxInFlight);
+    }
+
+    public AnvilLoader(@NotNull Path path) {
+        this(path, MAX_IN_FLIGHT);
     }
 
     public AnvilLoader(@NotNull String path) {
@@ -82,22 +92,22 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
-        try {
-            return loadMCA(instance, chunkX, chunkZ);
-        } catch (Exception e) {
-            MinecraftServer.getExceptionManager().handleException(e);
-        }
-        return CompletableFuture.completedFuture(null);
+        return readChunkData(instance, chunkX, chunkZ)
+                .<Chunk>thenApplyAsync(chunkData -> {
+                    if (chunkData == null) return null;
+                    try {
+                        return loadMCA(instance, chunkX, chunkZ, chunkData);
+                    } catch (AnvilException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(throwable -> {
+                    MinecraftServer.getExceptionManager().handleException(throwable);
+                    return null;
+                });
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final NBTCompound chunkData = mcaFile.getChunkData(chunkX, chunkZ);
-        if (chunkData == null)
-            return CompletableFuture.completedFuture(null);
-
+    private @NotNull Chunk loadMCA(Instance instance, int chunkX, int chunkZ, NBTCompound chunkData) throws AnvilException {
         final ChunkReader chunkReader = new ChunkReader(chunkData);
 
         Chunk chunk = instance.getChunkSupplier().createChunk(instance, chunkX, chunkZ);
@@ -127,34 +137,82 @@ public class AnvilLoader implements IChunkLoader {
             // Block entities
             loadBlockEntities(chunk, chunkReader);
         }
-        synchronized (perRegionLoadedChunks) {
-            int regionX = CoordinatesKt.chunkToRegion(chunkX);
-            int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-            var chunks = perRegionLoadedChunks.computeIfAbsent(new IntIntImmutablePair(regionX, regionZ), r -> new HashSet<>()); // region cache may have been removed on another thread due to unloadChunk
-            chunks.add(new IntIntImmutablePair(chunkX, chunkZ));
+        // Keep the region file open until the chunk is unloaded
+        while (!region(instance, chunkX, chunkZ).markLoaded(chunkX, chunkZ)) {
+            // Region closed concurrently, retry with a new one
         }
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                synchronized (perRegionLoadedChunks) {
-                    Set<IntIntImmutablePair> previousVersion = perRegionLoadedChunks.put(new IntIntImmutablePair(regionX, regionZ), new HashSet<>());
-                    assert previousVersion == null : "The AnvilLoader cache should not already have data for this region.";
-                }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+    private @NotNull CompletableFuture<@Nullable NBTCompound> readChunkData(Instance instance, int chunkX, int chunkZ) {
+        CompletableFuture<NBTCompound> future = new CompletableFuture<>();
+        inFlight.submit(() -> {
+            while (!region(instance, chunkX, chunkZ).read(chunkX, chunkZ, future)) {
+                // Region closed concurrently, retry with a new one
             }
         });
+        return future;
+    }
+
+    private @NotNull CompletableFuture<Void> writeChunkData(Instance instance, int chunkX, int chunkZ, NBTCompound chunkData) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        inFlight.submit(() -> {
+            while (!region(instance, chunkX, chunkZ).write(chunkX, chunkZ, chunkData, future)) {
+                // Region closed concurrently, retry with a new one
+            }
+        });
+        return future;
+    }
+
+    private @NotNull RegionFileQueue region(Instance instance, int chunkX, int chunkZ) {
+        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
+        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
+        return regions.computeIfAbsent(ChunkUtils.getChunkIndex(regionX, regionZ),
+                index -> new RegionFileQueue(regions, regionPath, regionX, regionZ,
+                        instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1, inFlight));
+    }
+
+    /**
+     * Gets the maximum number of region file operations queued at once.
+     *
+     * @return the in-flight limit
+     */
+    public int getMaxInFlightOperations() {
+        return maxInFlight;
+    }
+
+    /**
+     * Gets the number of region file operations currently queued, for all regions.
+     *
+     * @return the number of operations in flight
+     */
+    public int getInFlightOperations() {
+        return maxInFlight - inFlight.available();
+    }
+
+    /**
+     * Gets the number of region file operations waiting for the in-flight limit.
+     *
+     * @return the number of operations not queued yet
+     */
+    public int getWaitingOperations() {
+        return inFlight.waiting();
+    }
+
+    /**
+     * Gets the number of operations waiting to be executed on a region file.
+     *
+     * @param regionX the region X
+     * @param regionZ the region Z
+     * @return the queue depth of the region, 0 if not open
+     */
+    public int getQueueDepth(int regionX, int regionZ) {
+        final RegionFileQueue region = regions.get(ChunkUtils.getChunkIndex(regionX, regionZ));
+        return region != null ? region.queueDepth() : 0;
+    }
+
+    boolean isRegionOpen(int regionX, int regionZ) {
+        return regions.containsKey(ChunkUtils.getChunkIndex(regionX, regionZ));
     }
 
     private void loadSections(Chunk chunk, ChunkReader chunkReader) {
@@ -322,41 +380,25 @@ public class AnvilLoader implements IChunkLoader {
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
-                try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
-                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-                    MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
-                }
-            }
-        }
         ChunkWriter writer = new ChunkWriter(SupportedVersion.Companion.getLatest());
         save(chunk, writer);
-        try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumnData(writer.toNBT(), chunk.getChunkX(), chunk.getChunkZ());
-        } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-            MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
-        }
-        return AsyncUtils.VOID_FUTURE;
+        LOGGER.debug("Attempt saving at {} {}", chunkX, chunkZ);
+        return writeChunkData(chunk.instance, chunkX, chunkZ, writer.toNBT())
+                .exceptionally(throwable -> {
+                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, throwable);
+                    MinecraftServer.getExceptionManager().handleException(throwable);
+                    return null;
+                });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        if (!supportsParallelSaving()) return IChunkLoader.super.saveChunks(chunks);
+        // Serialize in parallel, the returned future waits for the region files to be written
+        CompletableFuture<?>[] futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> saveChunk(chunk)).thenCompose(future -> future))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
     }
 
     private BlockState getBlockState(final Block block) {
@@ -445,27 +487,9 @@ public class AnvilLoader implements IChunkLoader {
     public void unloadChunk(Chunk chunk) {
         final int regionX = CoordinatesKt.chunkToRegion(chunk.chunkX);
         final int regionZ = CoordinatesKt.chunkToRegion(chunk.chunkZ);
-
-        final IntIntImmutablePair regionKey = new IntIntImmutablePair(regionX, regionZ);
-        synchronized (perRegionLoadedChunks) {
-            Set<IntIntImmutablePair> chunks = perRegionLoadedChunks.get(regionKey);
-            if (chunks != null) { // if null, trying to unload a chunk from a region that was not created by the AnvilLoader
-                // don't check return value, trying to unload a chunk not created by the AnvilLoader is valid
-                chunks.remove(new IntIntImmutablePair(chunk.chunkX, chunk.chunkZ));
-
-                if (chunks.isEmpty()) {
-                    perRegionLoadedChunks.remove(regionKey);
-                    RegionFile regionFile = alreadyLoaded.remove(RegionFile.Companion.createFileName(regionX, regionZ));
-                    if (regionFile != null) {
-                        try {
-                            regionFile.close();
-                        } catch (IOException e) {
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        }
-                    }
-                }
-            }
-        }
+        // if null, trying to unload a chunk from a region that was not loaded by the AnvilLoader
+        final RegionFileQueue region = regions.get(ChunkUtils.getChunkIndex(regionX, regionZ));
+        if (region != null) region.markUnloaded(chunk.chunkX, chunk.chunkZ);
     }
 
     @Override
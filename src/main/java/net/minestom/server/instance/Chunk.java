@@ -5,7 +5,6 @@ import net.minestom.server.Viewable;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
-import net.minestom.server.entity.pathfinding.PFColumnarSpace;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.SendablePacket;
@@ -13,6 +12,7 @@ import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.snapshot.Snapshotable;
 import net.minestom.server.tag.TagHandler;
 import net.minestom.server.tag.Taggable;
+import net.minestom.server.thread.Acquirable;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
@@ -55,11 +55,9 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
     protected volatile boolean loaded = true;
     private final Viewable viewable;
 
-    // Path finding
-    protected PFColumnarSpace columnarSpace;
-
     // Data
     private final TagHandler tagHandler = TagHandler.newHandler();
+    private final Acquirable<Chunk> acquirable = Acquirable.of(this);
 
     public Chunk(@NotNull Instance instance, int chunkX, int chunkZ, boolean shouldGenerate) {
         this.identifier = UUID.randomUUID();
@@ -261,15 +259,6 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         this.readOnly = readOnly;
     }
 
-    /**
-     * Changes this chunk columnar space.
-     *
-     * @param columnarSpace the new columnar space
-     */
-    public void setColumnarSpace(PFColumnarSpace columnarSpace) {
-        this.columnarSpace = columnarSpace;
-    }
-
     /**
      * Used to verify if the chunk should still be kept in memory.
      *
@@ -309,6 +298,11 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return tagHandler;
     }
 
+    @ApiStatus.Experimental
+    public @NotNull Acquirable<Chunk> getAcquirable() {
+        return acquirable;
+    }
+
     /**
      * Sets the chunk as "unloaded".
      */
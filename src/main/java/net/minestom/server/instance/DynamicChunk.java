@@ -1,13 +1,11 @@
 package net.minestom.server.instance;
 
-import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
-import net.minestom.server.entity.pathfinding.PFBlock;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.NetworkBuffer;
@@ -22,7 +20,6 @@ import net.minestom.server.snapshot.SnapshotImpl;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
 import net.minestom.server.utils.MathUtils;
-import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.biomes.Biome;
@@ -33,6 +30,7 @@ import org.jglrxavpok.hephaistos.nbt.NBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
@@ -44,6 +42,7 @@ import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordi
  */
 public class DynamicChunk extends Chunk {
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamicChunk.class);
+    private static final Heightmap.Type[] HEIGHTMAP_TYPES = Heightmap.Type.values();
 
     protected List<Section> sections;
 
@@ -53,12 +52,33 @@ public class DynamicChunk extends Chunk {
 
     private long lastChange;
     final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
+    // Encoded sections of the chunk packet, null when the section changed since the last packet
+    private final byte[][] sectionsData;
+    private final Heightmap[] heightmaps = new Heightmap[HEIGHTMAP_TYPES.length];
+    // Sections of the last snapshot, shared by the next generation of a snapshot session
+    // while the chunk packet is not invalidated. Weak as the session owns the previous snapshot
+    private WeakReference<Section[]> lastSnapshotSections;
+    private int lastSnapshotVersion;
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        this(instance, chunkX, chunkZ, null);
+    }
+
+    /**
+     * @param sections the sections of the chunk, null to create empty ones
+     */
+    protected DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ, @Nullable List<Section> sections) {
         super(instance, chunkX, chunkZ, true);
-        var sectionsTemp = new Section[maxSection - minSection];
-        Arrays.setAll(sectionsTemp, value -> new Section());
-        this.sections = List.of(sectionsTemp);
+        if (sections == null) {
+            var sectionsTemp = new Section[maxSection - minSection];
+            Arrays.setAll(sectionsTemp, value -> new Section());
+            sections = List.of(sectionsTemp);
+        }
+        this.sections = sections;
+        this.sectionsData = new byte[sections.size()][];
+        for (Heightmap.Type type : HEIGHTMAP_TYPES) {
+            this.heightmaps[type.ordinal()] = new Heightmap(type.predicate());
+        }
     }
 
     @Override
@@ -73,14 +93,8 @@ public class DynamicChunk extends Chunk {
         assertLock();
 
         this.lastChange = System.currentTimeMillis();
-        this.chunkCache.invalidate();
+        invalidateSectionCache(ChunkUtils.getChunkCoordinate(y));
 
-        // Update pathfinder
-        if (columnarSpace != null) {
-            final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
-            final var blockDescription = PFBlock.get(block);
-            columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
-        }
         Section section = getSectionAt(y);
         section.blockPalette().set(
                 toSectionRelativeCoordinate(x),
@@ -88,6 +102,10 @@ public class DynamicChunk extends Chunk {
                 toSectionRelativeCoordinate(z),
                 block.stateId()
         );
+        // Update pathfinder
+        instance.getNavigationGrid().blockChanged(chunkX * Chunk.CHUNK_SIZE_X + toSectionRelativeCoordinate(x), y,
+                chunkZ * Chunk.CHUNK_SIZE_Z + toSectionRelativeCoordinate(z), block.stateId());
+        for (Heightmap heightmap : heightmaps) heightmap.update(this, x, y, z, block);
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
@@ -124,7 +142,7 @@ public class DynamicChunk extends Chunk {
     @Override
     public void setBiome(int x, int y, int z, @NotNull Biome biome) {
         assertLock();
-        this.chunkCache.invalidate();
+        invalidateSectionCache(ChunkUtils.getChunkCoordinate(y));
         Section section = getSectionAt(y);
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
@@ -185,6 +203,19 @@ public class DynamicChunk extends Chunk {
         return MinecraftServer.getBiomeManager().getById(id);
     }
 
+    /**
+     * Gets the Y coordinate of the first block above the highest block of a column.
+     *
+     * @param type the heightmap to query
+     * @param x    the block x coordinate
+     * @param z    the block z coordinate
+     * @return the height of the column, the dimension min Y if the column has no block of the heightmap
+     */
+    public synchronized int getHeight(@NotNull Heightmap.Type type, int x, int z) {
+        return heightmaps[type.ordinal()].height(this,
+                toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(z));
+    }
+
     @Override
     public long getLastChangeTime() {
         return lastChange;
@@ -196,9 +227,8 @@ public class DynamicChunk extends Chunk {
     }
 
     @Override
-    public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
-        DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
-        dynamicChunk.sections = sections.stream().map(Section::clone).toList();
+    public synchronized @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
+        DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ, cloneSections());
         dynamicChunk.entries.putAll(entries);
         return dynamicChunk;
     }
@@ -207,35 +237,36 @@ public class DynamicChunk extends Chunk {
     public void reset() {
         for (Section section : sections) section.clear();
         this.entries.clear();
+        invalidateChunkCache();
+    }
+
+    /**
+     * Invalidates the chunk packet after a block or biome change in a section.
+     * <p>
+     * Only the given section will be encoded again, the other ones are reused.
+     *
+     * @param section the section coordinate
+     */
+    synchronized void invalidateSectionCache(int section) {
+        this.sectionsData[section - minSection] = null;
+        this.chunkCache.invalidate();
+    }
+
+    /**
+     * Invalidates the chunk packet and the heightmaps after sections have been modified directly (e.g. by a generator fork).
+     */
+    synchronized void invalidateChunkCache() {
+        Arrays.fill(sectionsData, null);
+        for (Heightmap heightmap : heightmaps) heightmap.invalidate();
+        this.chunkCache.invalidate();
     }
 
     private @NotNull ChunkDataPacket createChunkPacket() {
         final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
-            }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
-            heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(encodeBlocks(worldSurface, bitsForHeight))));
-        }
-        // Data
-
         final byte[] data;
         synchronized (this) {
-            data = ObjectPool.PACKET_POOL.use(buffer ->
-                    NetworkBuffer.makeArray(networkBuffer -> {
-                        for (Section section : sections) networkBuffer.write(section);
-                    }));
+            heightmapsNBT = encodeHeightmaps();
+            data = encodeSections();
         }
 
         if (this instanceof LightingChunk light) {
@@ -258,6 +289,39 @@ public class DynamicChunk extends Chunk {
         );
     }
 
+    private byte[] encodeSections() {
+        int length = 0;
+        for (int i = 0; i < sectionsData.length; i++) {
+            byte[] sectionData = sectionsData[i];
+            if (sectionData == null) {
+                final Section section = sections.get(i);
+                sectionData = NetworkBuffer.makeArray(networkBuffer -> networkBuffer.write(section));
+                this.sectionsData[i] = sectionData;
+            }
+            length += sectionData.length;
+        }
+        byte[] data = new byte[length];
+        int offset = 0;
+        for (byte[] sectionData : sectionsData) {
+            System.arraycopy(sectionData, 0, data, offset, sectionData.length);
+            offset += sectionData.length;
+        }
+        return data;
+    }
+
+    private NBTCompound encodeHeightmaps() {
+        final int bitsForHeight = MathUtils.bitsToRepresent(getInstance().getDimensionType().getHeight());
+        Map<String, NBT> heightmapsNBT = new HashMap<>();
+        for (Heightmap.Type type : HEIGHTMAP_TYPES) {
+            if (!type.isSentToClient()) continue;
+            final short[] heights = heightmaps[type.ordinal()].heights(this);
+            int[] values = new int[heights.length];
+            for (int i = 0; i < heights.length; i++) values[i] = heights[i];
+            heightmapsNBT.put(type.name(), NBT.LongArray(encodeBlocks(values, bitsForHeight)));
+        }
+        return NBT.Compound(heightmapsNBT);
+    }
+
     @NotNull UpdateLightPacket createLightPacket() {
         return new UpdateLightPacket(chunkX, chunkZ, createLightData(false));
     }
@@ -309,17 +373,43 @@ public class DynamicChunk extends Chunk {
     }
 
     @Override
-    public @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
-        Section[] clonedSections = new Section[sections.size()];
-        for (int i = 0; i < clonedSections.length; i++)
-            clonedSections[i] = sections.get(i).clone();
+    public synchronized @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
+        // Read first, changes made while copying are detected by the next update
+        final int version = chunkCache.version();
         var entities = instance.getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES);
         final int[] entityIds = ArrayUtils.mapToIntArray(entities, Entity::getEntityId);
+        final SnapshotImpl.Chunk previous = updater.previous(this);
+        final Section[] lastSections = lastSnapshotSections != null ? lastSnapshotSections.get() : null;
+        final Section[] sections;
+        final Int2ObjectOpenHashMap<Block> blockEntries;
+        if (previous != null && previous.sections() == lastSections && version == lastSnapshotVersion) {
+            // Unchanged since the previous generation
+            sections = lastSections;
+            blockEntries = previous.blockEntries();
+        } else {
+            sections = cloneSections().toArray(Section[]::new);
+            blockEntries = entries.clone();
+            this.lastSnapshotSections = new WeakReference<>(sections);
+            this.lastSnapshotVersion = version;
+        }
         return new SnapshotImpl.Chunk(minSection, chunkX, chunkZ,
-                clonedSections, entries.clone(), entityIds, updater.reference(instance),
+                sections, blockEntries, entityIds, updater.reference(instance),
                 tagHandler().readableCopy());
     }
 
+    /**
+     * Copies the sections, sharing their content until modified.
+     * <p>
+     * Must be called with the chunk locked, a section being written cannot be shared.
+     */
+    protected @NotNull List<Section> cloneSections() {
+        assertLock();
+        Section[] clonedSections = new Section[sections.size()];
+        for (int i = 0; i < clonedSections.length; i++)
+            clonedSections[i] = sections.get(i).clone();
+        return List.of(clonedSections);
+    }
+
     private void assertLock() {
         assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
@@ -0,0 +1,91 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.Arrays;
+
+/**
+ * Spatial hash of the entity positions of an {@link EntityTracker}, in cubic cells of {@link #CELL_SIZE} blocks.
+ * <p>
+ * Each cell is a copy-on-write array, meaning that queries can iterate it without locking nor allocating.
+ * Empty cells are removed.
+ */
+final class EntityGrid {
+    static final int CELL_SHIFT = 3;
+    static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final Entity[] EMPTY = new Entity[0];
+
+    private final Long2ObjectSyncMap<Cell> cells = Long2ObjectSyncMap.hashmap();
+
+    static int cellCoordinate(double xyz) {
+        return (int) Math.floor(xyz) >> CELL_SHIFT;
+    }
+
+    static long cellIndex(int cellX, int cellY, int cellZ) {
+        return ((long) cellX & 0x1FFFFF) << 42 | ((long) cellY & 0x1FFFFF) << 21 | ((long) cellZ & 0x1FFFFF);
+    }
+
+    static long cellIndex(@NotNull Point point) {
+        return cellIndex(cellCoordinate(point.x()), cellCoordinate(point.y()), cellCoordinate(point.z()));
+    }
+
+    void add(long index, @NotNull Entity entity) {
+        while (true) {
+            final Cell cell = cells.computeIfAbsent(index, i -> new Cell());
+            synchronized (cell) {
+                // Removed while empty, retry with a new cell
+                if (cell.removed) continue;
+                final Entity[] entities = cell.entities;
+                final Entity[] newEntities = Arrays.copyOf(entities, entities.length + 1);
+                newEntities[entities.length] = entity;
+                cell.entities = newEntities;
+                return;
+            }
+        }
+    }
+
+    void remove(long index, @NotNull Entity entity) {
+        final Cell cell = cells.get(index);
+        if (cell == null) return;
+        synchronized (cell) {
+            final Entity[] entities = cell.entities;
+            int position = -1;
+            for (int i = 0; i < entities.length; i++) {
+                if (entities[i] == entity) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position == -1) return;
+            if (entities.length == 1) {
+                cell.entities = EMPTY;
+                cell.removed = true;
+                this.cells.remove(index, cell);
+                return;
+            }
+            final Entity[] newEntities = new Entity[entities.length - 1];
+            System.arraycopy(entities, 0, newEntities, 0, position);
+            System.arraycopy(entities, position + 1, newEntities, position, entities.length - position - 1);
+            cell.entities = newEntities;
+        }
+    }
+
+    /**
+     * Gets the entities of a cell.
+     *
+     * @return the entities, must not be modified, or null if the cell is empty
+     */
+    Entity @Nullable [] entities(int cellX, int cellY, int cellZ) {
+        final Cell cell = cells.get(cellIndex(cellX, cellY, cellZ));
+        return cell != null ? cell.entities : null;
+    }
+
+    private static final class Cell {
+        private volatile Entity[] entities = EMPTY;
+        private boolean removed;
+    }
+}
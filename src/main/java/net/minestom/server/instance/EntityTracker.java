@@ -59,11 +59,32 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
                                                        @NotNull Target<T> target, @NotNull Consumer<T> query);
 
     /**
-     * Gets the entities within a range.
+     * Gets the entities within a range, without allocating.
      */
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the entities whose position is within a box, without allocating.
+     *
+     * @param min the minimum corner of the box
+     * @param max the maximum corner of the box
+     */
+    <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max,
+                                          @NotNull Target<T> target, @NotNull Consumer<T> query);
+
+    /**
+     * Gets the entities whose position is within a range of a segment, without allocating.
+     * <p>
+     * Meant for the entities a moving entity may collide with during a tick.
+     *
+     * @param start     the start of the segment
+     * @param direction the segment from its start to its end
+     * @param range     the maximum distance between the segment and the positions
+     */
+    <T extends Entity> void entitiesAlongRay(@NotNull Point start, @NotNull Point direction, double range,
+                                             @NotNull Target<T> target, @NotNull Consumer<T> query);
+
     /**
      * Gets all the entities tracked by this class.
      */
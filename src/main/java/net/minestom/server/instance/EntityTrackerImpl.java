@@ -28,11 +28,16 @@ import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
 final class EntityTrackerImpl implements EntityTracker {
     static final AtomicInteger TARGET_COUNTER = new AtomicInteger();
+    private static final int SHAPE_BOX = 0, SHAPE_SPHERE = 1, SHAPE_RAY = 2;
+    // Queries covering more grid cells are answered from the chunk lists
+    private static final int MAX_QUERY_CELLS = 512;
 
     // Store all data associated to a Target
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    // All the entities, whatever their target, by position
+    private final EntityGrid grid = new EntityGrid();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
@@ -46,6 +51,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 entry.addToChunk(index, entity);
             }
         }
+        this.grid.add(EntityGrid.cellIndex(point), entity);
         if (update != null) {
             update.referenceUpdate(point, this);
             nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
@@ -67,6 +73,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 entry.removeFromChunk(index, entity);
             }
         }
+        this.grid.remove(EntityGrid.cellIndex(point), entity);
         if (update != null) {
             update.referenceUpdate(point, null);
             nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
@@ -80,7 +87,14 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        final long oldCell = EntityGrid.cellIndex(oldPoint);
+        final long newCell = EntityGrid.cellIndex(newPoint);
+        if (oldCell != newCell) {
+            this.grid.add(newCell, entity);
+            this.grid.remove(oldCell, entity);
+        }
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -134,35 +148,110 @@ final class EntityTrackerImpl implements EntityTracker {
 
     @Override
     public <T extends Entity> void nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
-        final int minChunkX = ChunkUtils.getChunkCoordinate(point.x() - range);
-        final int minChunkZ = ChunkUtils.getChunkCoordinate(point.z() - range);
-        final int maxChunkX = ChunkUtils.getChunkCoordinate(point.x() + range);
-        final int maxChunkZ = ChunkUtils.getChunkCoordinate(point.z() + range);
-        final double squaredRange = range * range;
-        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
-            // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
-            if (chunkEntities != null && !chunkEntities.isEmpty()) {
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) query.accept(entity);
-                });
+        query(SHAPE_SPHERE, point.x(), point.y(), point.z(), 0, 0, 0, range, target, query);
+    }
+
+    @Override
+    public <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max, @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        query(SHAPE_BOX, min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), 0, target, query);
+    }
+
+    @Override
+    public <T extends Entity> void entitiesAlongRay(@NotNull Point start, @NotNull Point direction, double range,
+                                                    @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        query(SHAPE_RAY, start.x(), start.y(), start.z(), direction.x(), direction.y(), direction.z(), range, target, query);
+    }
+
+    /**
+     * Visits the entities of a shape through the grid cells, or through the chunks if the shape is large.
+     * The meaning of {@code a} and {@code b} depends on the shape, see {@link #contains(int, double, double, double, double, double, double, double, Point)}.
+     */
+    private <T extends Entity> void query(int shape, double ax, double ay, double az,
+                                          double bx, double by, double bz, double range,
+                                          Target<T> target, Consumer<T> query) {
+        final double minX, minY, minZ, maxX, maxY, maxZ;
+        if (shape == SHAPE_BOX) {
+            minX = ax;
+            minY = ay;
+            minZ = az;
+            maxX = bx;
+            maxY = by;
+            maxZ = bz;
+        } else if (shape == SHAPE_SPHERE) {
+            minX = ax - range;
+            minY = ay - range;
+            minZ = az - range;
+            maxX = ax + range;
+            maxY = ay + range;
+            maxZ = az + range;
+        } else {
+            minX = Math.min(ax, ax + bx) - range;
+            minY = Math.min(ay, ay + by) - range;
+            minZ = Math.min(az, az + bz) - range;
+            maxX = Math.max(ax, ax + bx) + range;
+            maxY = Math.max(ay, ay + by) + range;
+            maxZ = Math.max(az, az + bz) + range;
+        }
+        final Class<T> type = target.type();
+        final int minCellX = EntityGrid.cellCoordinate(minX), maxCellX = EntityGrid.cellCoordinate(maxX);
+        final int minCellY = EntityGrid.cellCoordinate(minY), maxCellY = EntityGrid.cellCoordinate(maxY);
+        final int minCellZ = EntityGrid.cellCoordinate(minZ), maxCellZ = EntityGrid.cellCoordinate(maxZ);
+        final long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) * (maxCellZ - minCellZ + 1);
+        if (cellCount <= MAX_QUERY_CELLS) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                        final Entity[] entities = grid.entities(cellX, cellY, cellZ);
+                        if (entities == null) continue;
+                        for (Entity entity : entities) {
+                            if (!type.isInstance(entity)) continue;
+                            final Point position = entityPositions.get(entity.getEntityId());
+                            if (position != null && contains(shape, ax, ay, az, bx, by, bz, range, position)) {
+                                query.accept(type.cast(entity));
+                            }
+                        }
+                    }
+                }
             }
         } else {
-            // Multiple chunks
-            final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
-            forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
-                if (chunkEntities == null || chunkEntities.isEmpty()) return;
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) {
-                        query.accept(entity);
+            // Large shape, fewer chunks to look up
+            final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+            final int maxChunkX = ChunkUtils.getChunkCoordinate(maxX), maxChunkZ = ChunkUtils.getChunkCoordinate(maxZ);
+            for (int chunkX = ChunkUtils.getChunkCoordinate(minX); chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = ChunkUtils.getChunkCoordinate(minZ); chunkZ <= maxChunkZ; chunkZ++) {
+                    final List<Entity> chunkEntities = entities.get(getChunkIndex(chunkX, chunkZ));
+                    if (chunkEntities == null || chunkEntities.isEmpty()) continue;
+                    for (Entity entity : chunkEntities) {
+                        final Point position = entityPositions.get(entity.getEntityId());
+                        if (position != null && contains(shape, ax, ay, az, bx, by, bz, range, position)) {
+                            query.accept(type.cast(entity));
+                        }
                     }
-                });
-            });
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the position is inside the box {@code a} to {@code b}, the sphere of center {@code a},
+     * or within range of the segment from {@code a} to {@code a + b}
+     */
+    private static boolean contains(int shape, double ax, double ay, double az,
+                                    double bx, double by, double bz, double range, Point position) {
+        final double x = position.x(), y = position.y(), z = position.z();
+        if (shape == SHAPE_BOX) {
+            return x >= ax && x <= bx && y >= ay && y <= by && z >= az && z <= bz;
+        }
+        double t = 0;
+        if (shape == SHAPE_RAY) {
+            final double lengthSquared = bx * bx + by * by + bz * bz;
+            if (lengthSquared > 0) {
+                t = ((x - ax) * bx + (y - ay) * by + (z - az) * bz) / lengthSquared;
+                t = Math.max(0, Math.min(1, t));
+            }
         }
+        final double dx = x - (ax + bx * t), dy = y - (ay + by * t), dz = z - (az + bz * t);
+        return dx * dx + dy * dy + dz * dz <= range * range;
     }
 
     @Override
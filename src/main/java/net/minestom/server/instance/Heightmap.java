@@ -0,0 +1,163 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
+
+/**
+ * Height of the highest block of each column of a chunk matching a predicate.
+ * <p>
+ * Computed lazily by scanning the chunk sections, then maintained incrementally on block changes.
+ * Only lowering the highest block of a column requires to scan it again, up to the next matching block.
+ * <p>
+ * WARNING: not thread-safe, must be accessed while holding the chunk lock.
+ *
+ * @see DynamicChunk#getHeight(Type, int, int)
+ */
+public final class Heightmap {
+    private final Predicate<Block> predicate;
+    // Height above the chunk min Y of the first block above the highest matching one, 0 if the column has no match
+    private short[] heights;
+
+    /**
+     * @param predicate the blocks to consider, must never match air
+     */
+    Heightmap(@NotNull Predicate<Block> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Gets the Y coordinate of the first block above the highest matching block of a column.
+     *
+     * @param chunk the chunk owning this heightmap
+     * @param x     the section relative x coordinate
+     * @param z     the section relative z coordinate
+     * @return the absolute height, the chunk min Y if the column has no matching block
+     */
+    int height(@NotNull Chunk chunk, int x, int z) {
+        return heights(chunk)[z << 4 | x] + chunk.getMinSection() * CHUNK_SECTION_SIZE;
+    }
+
+    /**
+     * Gets all the heights, relative to the chunk min Y, indexed by {@code z << 4 | x}.
+     *
+     * @param chunk the chunk owning this heightmap
+     * @return the live heights array
+     */
+    short[] heights(@NotNull Chunk chunk) {
+        short[] heights = this.heights;
+        if (heights == null) {
+            heights = new short[CHUNK_SECTION_SIZE * CHUNK_SECTION_SIZE];
+            final int top = (chunk.getMaxSection() - chunk.getMinSection()) * CHUNK_SECTION_SIZE - 1;
+            for (int z = 0; z < CHUNK_SECTION_SIZE; z++) {
+                for (int x = 0; x < CHUNK_SECTION_SIZE; x++) {
+                    heights[z << 4 | x] = (short) scan(chunk, x, top, z);
+                }
+            }
+            this.heights = heights;
+        }
+        return heights;
+    }
+
+    /**
+     * Updates the column of a changed block.
+     *
+     * @param chunk the chunk owning this heightmap
+     * @param x     the block x coordinate
+     * @param y     the block absolute y coordinate
+     * @param z     the block z coordinate
+     * @param block the new block
+     */
+    void update(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block) {
+        final short[] heights = this.heights;
+        if (heights == null) return; // Not computed yet
+        final int relativeY = y - chunk.getMinSection() * CHUNK_SECTION_SIZE;
+        if (relativeY < 0 || relativeY >= (chunk.getMaxSection() - chunk.getMinSection()) * CHUNK_SECTION_SIZE) return;
+        x = toSectionRelativeCoordinate(x);
+        z = toSectionRelativeCoordinate(z);
+        final int index = z << 4 | x;
+        final int height = heights[index];
+        if (predicate.test(block)) {
+            if (relativeY >= height) heights[index] = (short) (relativeY + 1);
+        } else if (relativeY + 1 == height) {
+            // Highest block removed, look for the next one below
+            heights[index] = (short) scan(chunk, x, relativeY - 1, z);
+        }
+    }
+
+    /**
+     * Forces the heightmap to be computed again, used when sections are modified directly.
+     */
+    void invalidate() {
+        this.heights = null;
+    }
+
+    private int scan(Chunk chunk, int x, int relativeY, int z) {
+        final int minSection = chunk.getMinSection();
+        int y = relativeY;
+        while (y >= 0) {
+            final Palette palette = chunk.getSection(minSection + (y >> 4)).blockPalette();
+            if (palette.count() == 0) {
+                // Skip empty sections
+                y = (y & ~(CHUNK_SECTION_SIZE - 1)) - 1;
+                continue;
+            }
+            final Block block = Block.fromStateId((short) palette.get(x, y & 0xF, z));
+            if (block != null && predicate.test(block)) return y + 1;
+            y--;
+        }
+        return 0;
+    }
+
+    private static boolean blocksMotion(Block block) {
+        return block.isSolid() || block.isLiquid() || "true".equals(block.getProperty("waterlogged"));
+    }
+
+    /**
+     * The heightmaps defined by the protocol.
+     */
+    public enum Type {
+        /**
+         * Highest non-air block.
+         */
+        WORLD_SURFACE(block -> !block.isAir(), true),
+        /**
+         * Highest solid block.
+         */
+        OCEAN_FLOOR(Block::isSolid, false),
+        /**
+         * Highest solid or fluid block.
+         */
+        MOTION_BLOCKING(Heightmap::blocksMotion, true),
+        /**
+         * Highest solid or fluid block, excluding leaves.
+         */
+        MOTION_BLOCKING_NO_LEAVES(block -> blocksMotion(block) && !block.name().endsWith("_leaves"), false);
+
+        private final Predicate<Block> predicate;
+        private final boolean sentToClient;
+
+        Type(Predicate<Block> predicate, boolean sentToClient) {
+            this.predicate = predicate;
+            this.sentToClient = sentToClient;
+        }
+
+        /**
+         * Gets if the heightmap is included in the chunk packets, the others are only used by the server.
+         *
+         * @return true if sent to the client
+         */
+        public boolean isSentToClient() {
+            return sentToClient;
+        }
+
+        @NotNull Predicate<Block> predicate() {
+            return predicate;
+        }
+    }
+}
@@ -12,7 +12,7 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityCreature;
 import net.minestom.server.entity.ExperienceOrb;
 import net.minestom.server.entity.Player;
-import net.minestom.server.entity.pathfinding.PFInstanceSpace;
+import net.minestom.server.entity.pathfinding.NavigationGrid;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventHandler;
@@ -101,7 +101,10 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     private ExplosionSupplier explosionSupplier;
 
     // Pathfinder
-    private final PFInstanceSpace instanceSpace = new PFInstanceSpace(this);
+    private final NavigationGrid navigationGrid = new NavigationGrid(this);
+
+    // Light of the lighting chunks
+    final LightEngine lightEngine = new LightEngine(this);
 
     // Adventure
     private final Pointers pointers;
@@ -670,7 +673,7 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         // Tick event
         {
             // Process tick events
-            EventDispatcher.call(new InstanceTickEvent(this, time, lastTickAge));
+            EventDispatcher.call(InstanceTickEvent.class, () -> new InstanceTickEvent(this, time, lastTickAge));
             // Set last tick age
             this.lastTickAge = time;
         }
@@ -753,15 +756,15 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     }
 
     /**
-     * Gets the instance space.
+     * Gets the navigation grid.
      * <p>
      * Used by the pathfinder for entities.
      *
-     * @return the instance space
+     * @return the navigation grid
      */
     @ApiStatus.Internal
-    public @NotNull PFInstanceSpace getInstanceSpace() {
-        return instanceSpace;
+    public @NotNull NavigationGrid getNavigationGrid() {
+        return navigationGrid;
     }
 
     @Override
@@ -252,11 +252,12 @@ public class InstanceContainer extends Instance {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
         chunk.sendPacketToViewers(new UnloadChunkPacket(chunkX, chunkZ));
-        EventDispatcher.call(new InstanceChunkUnloadEvent(this, chunk));
+        EventDispatcher.call(InstanceChunkUnloadEvent.class, () -> new InstanceChunkUnloadEvent(this, chunk));
         // Remove all entities in chunk
         getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES).forEach(Entity::remove);
         // Clear cache
         this.chunks.remove(getChunkIndex(chunkX, chunkZ));
+        getNavigationGrid().invalidateChunk(chunkX, chunkZ);
         chunk.unload();
         if (chunkLoader != null) {
             chunkLoader.unloadChunk(chunk);
@@ -307,7 +308,7 @@ public class InstanceContainer extends Instance {
                     cacheChunk(chunk);
                     chunk.onLoad();
 
-                    EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
+                    EventDispatcher.call(InstanceChunkLoadEvent.class, () -> new InstanceChunkLoadEvent(this, chunk));
                     final CompletableFuture<Chunk> future = this.loadingChunks.remove(index);
                     assert future == completableFuture : "Invalid future: " + future;
                     completableFuture.complete(chunk);
@@ -359,10 +360,10 @@ public class InstanceContainer extends Instance {
                                     applyFork(forkChunk, sectionModifier);
                                     // Update players
                                     if (forkChunk instanceof LightingChunk lightingChunk) {
-                                        lightingChunk.chunkCache.invalidate();
+                                        lightingChunk.invalidateChunkCache();
                                         lightingChunk.lightCache.invalidate();
                                     } else if (forkChunk instanceof DynamicChunk dynamicChunk) {
-                                        dynamicChunk.chunkCache.invalidate();
+                                        dynamicChunk.invalidateChunkCache();
                                     }
                                     forkChunk.sendChunk();
                                 } else {
@@ -668,6 +669,7 @@ public class InstanceContainer extends Instance {
 
     private void cacheChunk(@NotNull Chunk chunk) {
         this.chunks.put(getChunkIndex(chunk), chunk);
+        getNavigationGrid().invalidateChunk(chunk.getChunkX(), chunk.getChunkZ());
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.createPartition(chunk);
     }
@@ -0,0 +1,149 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.light.Light;
+import net.minestom.server.network.ConnectionState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Computes and sends the light of the {@link LightingChunk}s of an instance.
+ * <p>
+ * Sections are relit in waves over a shared fork-join pool: all the sections of a wave are computed in parallel,
+ * the next wave only contains the neighbours whose borders changed. Queued chunks are relit together in the same waves
+ * by batches of {@code minestom.lighting.batch-chunks}, then their packets are built and sent in parallel.
+ * <p>
+ * Relights of an instance run one at a time as they read the light of neighbour sections.
+ * Each instance has its own engine, meaning that lighting never waits on other instances nor on the instance monitor.
+ */
+final class LightEngine {
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    // Chunks relit under a single acquisition of the relight lock, which packet builds may wait for
+    private static final int BATCH_CHUNKS = Integer.getInteger("minestom.lighting.batch-chunks", 16);
+
+    private final Instance instance;
+    // Relights read the light of neighbour sections, only one can run at a time for the instance
+    private final ReentrantLock relightLock = new ReentrantLock();
+    private final Set<LightingChunk> pendingChunks = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    LightEngine(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Schedules the chunk to be fully relit and sent to its viewers.
+     *
+     * @param chunk the chunk to relight
+     */
+    void queue(@NotNull LightingChunk chunk) {
+        this.pendingChunks.add(chunk);
+        if (scheduled.compareAndSet(false, true)) POOL.execute(this::drain);
+    }
+
+    /**
+     * Runs an incremental update if no relight is in progress, without waiting for it.
+     *
+     * @return false if the update could not run or failed
+     */
+    boolean tryUpdate(@NotNull BooleanSupplier update) {
+        if (!relightLock.tryLock()) return false;
+        try {
+            return update.getAsBoolean();
+        } finally {
+            relightLock.unlock();
+        }
+    }
+
+    void relight(@NotNull Set<Point> sections, @NotNull LightingChunk.LightType type) {
+        relightLock.lock();
+        try {
+            if (ForkJoinTask.inForkJoinPool()) {
+                relightWaves(sections, type);
+            } else {
+                POOL.invoke(ForkJoinTask.adapt(() -> relightWaves(sections, type)));
+            }
+        } finally {
+            relightLock.unlock();
+        }
+    }
+
+    /**
+     * @return true if no chunk is waiting to be lit and no relight is running
+     */
+    boolean isIdle() {
+        return pendingChunks.isEmpty() && !scheduled.get() && !relightLock.isLocked();
+    }
+
+    private void relightWaves(Set<Point> sections, LightingChunk.LightType type) {
+        boolean external = false;
+        while (!sections.isEmpty()) {
+            final boolean internal = !external;
+            Set<Point> nextWave = ConcurrentHashMap.newKeySet();
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(sections.size());
+            for (Point point : sections) {
+                final Chunk chunk = instance.getChunk(point.blockX(), point.blockZ());
+                if (chunk == null) continue;
+                final Section section = chunk.getSection(point.blockY());
+                final Light light = type == LightingChunk.LightType.BLOCK ? section.blockLight() : section.skyLight();
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    if (internal) light.calculateInternal(instance, chunk.getChunkX(), point.blockY(), chunk.getChunkZ());
+                    else light.calculateExternal(instance, chunk, point.blockY());
+                    nextWave.addAll(light.flip());
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            sections = nextWave;
+            external = true;
+        }
+    }
+
+    private void drain() {
+        do {
+            List<LightingChunk> chunks = new ArrayList<>(BATCH_CHUNKS);
+            for (Iterator<LightingChunk> iterator = pendingChunks.iterator(); iterator.hasNext() && chunks.size() < BATCH_CHUNKS; ) {
+                chunks.add(iterator.next());
+                iterator.remove();
+            }
+            Set<Point> sections = new HashSet<>();
+            for (LightingChunk chunk : chunks) {
+                int sectionY = chunk.getMinSection();
+                for (Section section : chunk.getSections()) {
+                    section.blockLight().invalidate();
+                    section.skyLight().invalidate();
+                    if (chunk.isLoaded()) sections.add(new Vec(chunk.getChunkX(), sectionY, chunk.getChunkZ()));
+                    sectionY++;
+                }
+                chunk.chunkCache.invalidate();
+                chunk.lightCache.invalidate();
+            }
+            // All the chunks of the batch in the same waves, the lock is released between batches
+            relight(sections, LightingChunk.LightType.BLOCK);
+            relight(sections, LightingChunk.LightType.SKY);
+            // Packets only read the computed light, build them in parallel
+            List<ForkJoinTask<?>> sends = new ArrayList<>(chunks.size());
+            for (LightingChunk chunk : chunks) {
+                if (!chunk.isLoaded()) continue;
+                sends.add(ForkJoinTask.adapt(() -> {
+                    chunk.lightCache.body(ConnectionState.PLAY);
+                    chunk.sendLighting();
+                }));
+            }
+            ForkJoinTask.invokeAll(sends);
+            this.scheduled.set(false);
+        } while (!pendingChunks.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+}
@@ -1,57 +1,36 @@
 package net.minestom.server.instance;
 
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongSet;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.collision.Shape;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.block.BlockHandler;
-import net.minestom.server.instance.light.Light;
-import net.minestom.server.network.ConnectionState;
+import net.minestom.server.instance.light.LightUpdate;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.play.data.LightData;
-import net.minestom.server.timer.ExecutionType;
-import net.minestom.server.timer.Task;
-import net.minestom.server.timer.TaskSchedule;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 
 import static net.minestom.server.instance.light.LightCompute.emptyContent;
 
 public class LightingChunk extends DynamicChunk {
 
-    private static final int LIGHTING_CHUNKS_PER_SEND = Integer.getInteger("minestom.lighting.chunks-per-send", 10);
-    private static final int LIGHTING_CHUNKS_SEND_DELAY = Integer.getInteger("minestom.lighting.chunks-send-delay", 100);
-
-    private static final ExecutorService pool = Executors.newWorkStealingPool();
-
-    private int[] heightmap;
+    private final Heightmap skyHeightmap = new Heightmap(LightingChunk::checkSkyOcclusion);
     final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
     boolean sendNeighbours = true;
     boolean chunkLoaded = false;
+    private volatile boolean lightChanged;
 
     enum LightType {
         SKY,
         BLOCK
     }
 
-    private enum QueueType {
-        INTERNAL,
-        EXTERNAL
-    }
-
     private static final Set<NamespaceID> DIFFUSE_SKY_LIGHT = Set.of(
             Block.COBWEB.namespace(),
             Block.ICE.namespace(),
@@ -81,7 +60,11 @@ public class LightingChunk extends DynamicChunk {
         super(instance, chunkX, chunkZ);
     }
 
-    private boolean checkSkyOcclusion(Block block) {
+    private LightingChunk(@NotNull Instance instance, int chunkX, int chunkZ, @NotNull List<Section> sections) {
+        super(instance, chunkX, chunkZ, sections);
+    }
+
+    private static boolean checkSkyOcclusion(Block block) {
         if (block == Block.AIR) return false;
         if (DIFFUSE_SKY_LIGHT.contains(block.namespace())) return true;
 
@@ -116,22 +99,63 @@ public class LightingChunk extends DynamicChunk {
     public void setBlock(int x, int y, int z, @NotNull Block block,
                          @Nullable BlockHandler.Placement placement,
                          @Nullable BlockHandler.Destroy destroy) {
+        final int relX = ChunkUtils.toSectionRelativeCoordinate(x);
+        final int relZ = ChunkUtils.toSectionRelativeCoordinate(z);
+        final int oldSkyHeight = chunkLoaded ? skyHeightmap.height(this, relX, relZ) : 0;
         super.setBlock(x, y, z, block, placement, destroy);
-        this.heightmap = null;
+        this.skyHeightmap.update(this, x, y, z, block);
 
-        // Invalidate neighbor chunks, since they can be updated by this block change
-        int coordinate = ChunkUtils.getChunkCoordinate(y);
         if (chunkLoaded) {
-            invalidateSection(coordinate);
+            final int newSkyHeight = skyHeightmap.height(this, relX, relZ);
+            if (!updateLight(x, y, z, oldSkyHeight, newSkyHeight)) {
+                // Invalidate neighbor chunks, since they can be updated by this block change
+                invalidateSection(ChunkUtils.getChunkCoordinate(y));
+            }
             this.lightCache.invalidate();
         }
     }
 
+    /**
+     * Propagates the light change of a single block, only the sections whose light changed are sent.
+     *
+     * @return false if the sections must be invalidated instead
+     */
+    private boolean updateLight(int x, int y, int z, int oldSkyHeight, int newSkyHeight) {
+        return instance.lightEngine.tryUpdate(() -> {
+            final LightUpdate blockUpdate = LightUpdate.block(instance, x, y, z);
+            if (blockUpdate == null) return false;
+            LightUpdate skyUpdate = null;
+            if (instance.getDimensionType().isSkylightEnabled()) {
+                skyUpdate = LightUpdate.sky(instance, x, y, z, oldSkyHeight, newSkyHeight);
+                if (skyUpdate == null) return false;
+            }
+            Set<Chunk> changed = blockUpdate.apply();
+            if (skyUpdate != null) changed.addAll(skyUpdate.apply());
+            for (Chunk chunk : changed) {
+                if (!(chunk instanceof LightingChunk lightingChunk)) continue;
+                lightingChunk.chunkCache.invalidate();
+                lightingChunk.lightCache.invalidate();
+                lightingChunk.lightChanged = true;
+            }
+            return true;
+        });
+    }
+
     public void sendLighting() {
         if (!isLoaded()) return;
         sendPacketToViewers(lightCache);
     }
 
+    @Override
+    public void tick(long time) {
+        super.tick(time);
+        // Send the incremental light updates of the tick at once
+        if (lightChanged) {
+            this.lightChanged = false;
+            sendLighting();
+        }
+    }
+
     @Override
     protected void onLoad() {
         // Prefetch the chunk packet so that lazy lighting is computed
@@ -140,30 +164,21 @@ public class LightingChunk extends DynamicChunk {
     }
 
     public int[] calculateHeightMap() {
-        if (this.heightmap != null) return this.heightmap;
-        var heightmap = new int[CHUNK_SIZE_X * CHUNK_SIZE_Z];
-
-        int minY = instance.getDimensionType().getMinY();
-        int maxY = instance.getDimensionType().getMinY() + instance.getDimensionType().getHeight();
-
+        int[] heightmap = new int[CHUNK_SIZE_X * CHUNK_SIZE_Z];
+        final int minY = instance.getDimensionType().getMinY();
         synchronized (this) {
-            for (int x = 0; x < CHUNK_SIZE_X; x++) {
-                for (int z = 0; z < CHUNK_SIZE_Z; z++) {
-                    int height = maxY;
-                    while (height > minY) {
-                        Block block = getBlock(x, height, z, Condition.TYPE);
-                        if (checkSkyOcclusion(block)) break;
-                        height--;
-                    }
-                    heightmap[z << 4 | x] = (height + 1);
-                }
-            }
+            final short[] heights = skyHeightmap.heights(this);
+            for (int i = 0; i < heights.length; i++) heightmap[i] = heights[i] + minY;
         }
-
-        this.heightmap = heightmap;
         return heightmap;
     }
 
+    @Override
+    synchronized void invalidateChunkCache() {
+        super.invalidateChunkCache();
+        this.skyHeightmap.invalidate();
+    }
+
     @Override
     protected LightData createLightData(boolean sendLater) {
         synchronized (lightCache) {
@@ -179,17 +194,18 @@ public class LightingChunk extends DynamicChunk {
                 boolean wasUpdatedBlock = false;
                 boolean wasUpdatedSky = false;
 
+                // Full packets include all the sections, the send flags are left for the incremental update to viewers
                 if (section.blockLight().requiresUpdate()) {
                     relightSection(instance, this.chunkX, index + minSection, chunkZ, LightType.BLOCK);
                     wasUpdatedBlock = true;
-                } else if (section.blockLight().requiresSend()) {
+                } else if (!sendLater && section.blockLight().requiresSend()) {
                     wasUpdatedBlock = true;
                 }
 
                 if (section.skyLight().requiresUpdate()) {
                     relightSection(instance, this.chunkX, index + minSection, chunkZ, LightType.SKY);
                     wasUpdatedSky = true;
-                } else if (section.skyLight().requiresSend()) {
+                } else if (!sendLater && section.skyLight().requiresSend()) {
                     wasUpdatedSky = true;
                 }
 
@@ -228,117 +244,15 @@ public class LightingChunk extends DynamicChunk {
         }
     }
 
-    private static final LongSet queuedChunks = new LongOpenHashSet();
-    private static final List<LightingChunk> sendQueue = new ArrayList<>();
-    private static Task sendingTask = null;
-    private static final ReentrantLock lightLock = new ReentrantLock();
-    private static final ReentrantLock queueLock = new ReentrantLock();
-
     static void updateAfterGeneration(LightingChunk chunk) {
         for (int i = -1; i <= 1; i++) {
             for (int j = -1; j <= 1; j++) {
                 Chunk neighborChunk = chunk.instance.getChunk(chunk.chunkX + i, chunk.chunkZ + j);
-                if (neighborChunk == null) continue;
-
                 if (neighborChunk instanceof LightingChunk lightingChunk) {
-                    queueLock.lock();
-
-                    if (queuedChunks.add(ChunkUtils.getChunkIndex(lightingChunk.chunkX, lightingChunk.chunkZ))) {
-                        sendQueue.add(lightingChunk);
-                    }
-                    queueLock.unlock();
+                    chunk.instance.lightEngine.queue(lightingChunk);
                 }
             }
         }
-
-        lightLock.lock();
-        if (sendingTask != null) {
-            lightLock.unlock();
-            return;
-        }
-
-        sendingTask = MinecraftServer.getSchedulerManager().scheduleTask(() -> {
-            queueLock.lock();
-            var copy = new ArrayList<>(sendQueue);
-            sendQueue.clear();
-            queuedChunks.clear();
-            queueLock.unlock();
-
-            // if (copy.size() != 0) {
-            //     System.out.println("Sending lighting for " + copy.size() + " chunks");
-            // }
-
-            int count = 0;
-
-            for (LightingChunk f : copy) {
-                f.sections.forEach(s -> {
-                    s.blockLight().invalidate();
-                    s.skyLight().invalidate();
-                });
-                f.chunkCache.invalidate();
-                f.lightCache.invalidate();
-            }
-
-            // Load all the lighting
-            for (LightingChunk f : copy) {
-                if (f.isLoaded()) {
-                    f.lightCache.body(ConnectionState.PLAY);
-                }
-            }
-
-            // Send it slowly
-            for (LightingChunk f : copy) {
-                if (f.isLoaded()) {
-                    f.sendLighting();
-                    if (f.getViewers().size() == 0) continue;
-                }
-                count++;
-
-                if (count % LIGHTING_CHUNKS_PER_SEND == 0) {
-                    // System.out.println("Sent " + count + " lighting chunks " + (count * 100 / copy.size()) + "%");
-                    try {
-                        Thread.sleep(LIGHTING_CHUNKS_SEND_DELAY);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }, TaskSchedule.immediate(), TaskSchedule.tick(20), ExecutionType.ASYNC);
-        lightLock.unlock();
-    }
-
-    private static void flushQueue(Instance instance, Set<Point> queue, LightType type, QueueType queueType) {
-        AtomicInteger count = new AtomicInteger(0);
-        Set<Light> sections = ConcurrentHashMap.newKeySet();
-        Set<Point> newQueue = ConcurrentHashMap.newKeySet();
-
-        for (Point point : queue) {
-            Chunk chunk = instance.getChunk(point.blockX(), point.blockZ());
-            if (chunk == null) {
-                count.getAndIncrement();
-                continue;
-            }
-
-            var light = type == LightType.BLOCK ? chunk.getSection(point.blockY()).blockLight() : chunk.getSection(point.blockY()).skyLight();
-
-            pool.submit(() -> {
-                if (queueType == QueueType.INTERNAL) light.calculateInternal(instance, chunk.getChunkX(), point.blockY(), chunk.getChunkZ());
-                else light.calculateExternal(instance, chunk, point.blockY());
-
-                sections.add(light);
-
-                var toAdd = light.flip();
-                if (toAdd != null) newQueue.addAll(toAdd);
-
-                count.incrementAndGet();
-            });
-        }
-
-        while (count.get() < queue.size()) { }
-
-        if (newQueue.size() > 0) {
-            flushQueue(instance, newQueue, type, QueueType.EXTERNAL);
-        }
     }
 
     public static void relight(Instance instance, Collection<Chunk> chunks) {
@@ -354,10 +268,8 @@ public class LightingChunk extends DynamicChunk {
             }
         }
 
-        synchronized (instance) {
-            relight(instance, sections, LightType.BLOCK);
-            relight(instance, sections, LightType.SKY);
-        }
+        relight(instance, sections, LightType.BLOCK);
+        relight(instance, sections, LightType.SKY);
     }
 
     private static Set<Point> getNearbyRequired(Instance instance, Point point) {
@@ -415,22 +327,19 @@ public class LightingChunk extends DynamicChunk {
         Chunk c = instance.getChunk(chunkX, chunkZ);
         if (c == null) return;
 
-        synchronized (instance) {
-            Set<Point> collected = collectRequiredNearby(instance, new Vec(chunkX, sectionY, chunkZ));
-            // System.out.println("Calculating " + chunkX + " " + sectionY + " " + chunkZ + " | " + collected.size() + " | " + type);
+        Set<Point> collected = collectRequiredNearby(instance, new Vec(chunkX, sectionY, chunkZ));
+        // System.out.println("Calculating " + chunkX + " " + sectionY + " " + chunkZ + " | " + collected.size() + " | " + type);
 
-            relight(instance, collected, type);
-        }
+        relight(instance, collected, type);
     }
 
     private static void relight(Instance instance, Set<Point> queue, LightType type) {
-        flushQueue(instance, queue, type, QueueType.INTERNAL);
+        instance.lightEngine.relight(queue, type);
     }
 
     @Override
-    public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
-        LightingChunk lightingChunk = new LightingChunk(instance, chunkX, chunkZ);
-        lightingChunk.sections = sections.stream().map(Section::clone).toList();
+    public synchronized @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
+        LightingChunk lightingChunk = new LightingChunk(instance, chunkX, chunkZ, cloneSections());
         lightingChunk.entries.putAll(entries);
         return lightingChunk;
     }
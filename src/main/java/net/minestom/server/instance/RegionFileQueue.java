@@ -0,0 +1,322 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.mca.AnvilException;
+import org.jglrxavpok.hephaistos.mca.RegionFile;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serializes the I/O of a single region file of an {@link AnvilLoader}.
+ * <p>
+ * Operations are queued and drained by a single thread at a time from a shared pool,
+ * loads and saves of different regions therefore never wait on each other.
+ * Saves of a chunk which has not been written yet are merged, and loads of such chunk are answered from memory.
+ * <p>
+ * Every queued operation holds a permit of the loader {@link InFlight} limit until executed.
+ * The file is closed once no chunk of the region is loaded, or after being idle for a while.
+ */
+final class RegionFileQueue {
+    private static final long IDLE_CLOSE_MS = Long.getLong("minestom.anvil.idle-close-ms", 5000);
+    private static final ExecutorService IO_POOL = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Ms-AnvilIO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ScheduledExecutorService IDLE_CLOSER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Ms-AnvilIdle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, RegionFileQueue> regions;
+    private final long regionIndex;
+    private final Path path;
+    private final int regionX, regionZ;
+    private final int minY, maxY;
+    private final InFlight inFlight;
+
+    // Guarded by this
+    private final Queue<Runnable> operations = new ArrayDeque<>();
+    private final Map<Long, PendingWrite> pendingWrites = new HashMap<>();
+    // Chunks loaded from this region, the file is closed once all of them are unloaded
+    private final Set<Long> loadedChunks = new HashSet<>();
+    private boolean scheduled;
+    private boolean closeRequested;
+    private boolean closed;
+    // Incremented on every operation, idle closes are skipped if it changed
+    private long activity;
+
+    // Only accessed by the draining thread
+    private RegionFile file;
+
+    RegionFileQueue(@NotNull Map<Long, RegionFileQueue> regions, @NotNull Path regionFolder,
+                    int regionX, int regionZ, int minY, int maxY, @NotNull InFlight inFlight) {
+        this.regions = regions;
+        this.regionIndex = ChunkUtils.getChunkIndex(regionX, regionZ);
+        this.path = regionFolder.resolve(RegionFile.Companion.createFileName(regionX, regionZ));
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Queues the read of a chunk, the caller holds an in-flight permit released once executed.
+     *
+     * @param future completed with the chunk data, or null if absent
+     * @return false if the queue has been closed, the permit is then still held by the caller
+     */
+    boolean read(int chunkX, int chunkZ, @NotNull CompletableFuture<@Nullable NBTCompound> future) {
+        final NBTCompound pendingData;
+        synchronized (this) {
+            if (closed) return false;
+            final PendingWrite pending = pendingWrites.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+            if (pending == null) {
+                enqueue(() -> {
+                    try {
+                        final RegionFile file = file(false);
+                        future.complete(file != null ? file.getChunkData(chunkX, chunkZ) : null);
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+                return true;
+            }
+            pendingData = pending.data;
+        }
+        // Answered from memory, released outside the lock as it may admit other requests
+        inFlight.release();
+        future.complete(pendingData);
+        return true;
+    }
+
+    /**
+     * Queues the write of a chunk, merged with the previous one if not executed yet.
+     * The caller holds an in-flight permit released once executed.
+     *
+     * @param future completed once written
+     * @return false if the queue has been closed, the permit is then still held by the caller
+     */
+    boolean write(int chunkX, int chunkZ, @NotNull NBTCompound data, @NotNull CompletableFuture<Void> future) {
+        final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        final PendingWrite merged;
+        synchronized (this) {
+            if (closed) return false;
+            merged = pendingWrites.get(index);
+            if (merged == null) {
+                this.pendingWrites.put(index, new PendingWrite(data, future));
+                enqueue(() -> {
+                    final PendingWrite write;
+                    synchronized (this) {
+                        write = pendingWrites.remove(index);
+                    }
+                    try {
+                        file(true).writeColumnData(write.data, chunkX, chunkZ);
+                        write.future.complete(null);
+                    } catch (Throwable t) {
+                        write.future.completeExceptionally(t);
+                    }
+                });
+                return true;
+            }
+            merged.data = data;
+        }
+        // Merged, released outside the lock as it may admit other requests
+        inFlight.release();
+        merged.future.whenComplete((unused, throwable) -> {
+            if (throwable != null) future.completeExceptionally(throwable);
+            else future.complete(null);
+        });
+        return true;
+    }
+
+    /**
+     * @return false if the queue has been closed
+     */
+    synchronized boolean markLoaded(int chunkX, int chunkZ) {
+        if (closed) return false;
+        this.loadedChunks.add(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        this.closeRequested = false;
+        this.activity++;
+        return true;
+    }
+
+    /**
+     * Closes the region file once all the queued operations are done, if no other chunk is loaded.
+     */
+    synchronized void markUnloaded(int chunkX, int chunkZ) {
+        if (closed || !loadedChunks.remove(ChunkUtils.getChunkIndex(chunkX, chunkZ))) return;
+        if (!loadedChunks.isEmpty()) return;
+        this.closeRequested = true;
+        if (!scheduled) {
+            this.scheduled = true;
+            IO_POOL.execute(this::drain);
+        }
+    }
+
+    synchronized int queueDepth() {
+        return operations.size();
+    }
+
+    private void enqueue(Runnable operation) {
+        assert Thread.holdsLock(this);
+        this.operations.add(operation);
+        this.activity++;
+        if (!scheduled) {
+            this.scheduled = true;
+            IO_POOL.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            final Runnable operation;
+            synchronized (this) {
+                operation = operations.poll();
+                if (operation == null) {
+                    this.scheduled = false;
+                    if (loadedChunks.isEmpty()) {
+                        if (closeRequested || file == null) {
+                            close();
+                        } else {
+                            // Opened for writes or reads of absent chunks only
+                            final long activity = this.activity;
+                            IDLE_CLOSER.schedule(() -> closeIfIdle(activity), IDLE_CLOSE_MS, TimeUnit.MILLISECONDS);
+                        }
+                    }
+                    return;
+                }
+            }
+            try {
+                operation.run();
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private synchronized void closeIfIdle(long activity) {
+        if (closed || scheduled || this.activity != activity || !loadedChunks.isEmpty()) return;
+        close();
+    }
+
+    private void close() {
+        this.closed = true;
+        this.regions.remove(regionIndex, this);
+        final RegionFile file = this.file;
+        if (file == null) return;
+        this.file = null;
+        try {
+            file.close();
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    private @Nullable RegionFile file(boolean create) throws IOException, AnvilException {
+        RegionFile file = this.file;
+        if (file == null) {
+            if (!Files.exists(path)) {
+                if (!create) return null;
+                Files.createDirectories(path.getParent());
+                Files.createFile(path);
+            }
+            file = new RegionFile(new RandomAccessFile(path.toFile(), "rw"), regionX, regionZ, minY, maxY);
+            this.file = file;
+        }
+        return file;
+    }
+
+    private static final class PendingWrite {
+        private final CompletableFuture<Void> future;
+        private NBTCompound data;
+
+        PendingWrite(NBTCompound data, CompletableFuture<Void> future) {
+            this.data = data;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Limit of operations queued at once over all the regions of a loader.
+     * <p>
+     * Requests over the limit wait in memory for a permit, the caller is never blocked.
+     */
+    static final class InFlight {
+        private final Semaphore permits;
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        InFlight(int limit) {
+            this.permits = new Semaphore(limit);
+        }
+
+        /**
+         * Runs a request once a permit is available, possibly in the calling thread.
+         * The request must release the permit once done.
+         */
+        void submit(@NotNull Runnable request) {
+            this.waiting.add(request);
+            dispatch();
+        }
+
+        void release() {
+            this.permits.release();
+            dispatch();
+        }
+
+        int available() {
+            return permits.availablePermits();
+        }
+
+        int waiting() {
+            return waiting.size();
+        }
+
+        private void dispatch() {
+            // Single dispatcher at a time, releases from the requests themselves are picked up by the loop
+            do {
+                if (!dispatching.compareAndSet(false, true)) return;
+                try {
+                    while (!waiting.isEmpty() && permits.tryAcquire()) {
+                        final Runnable request = waiting.poll();
+                        if (request == null) {
+                            permits.release();
+                            continue;
+                        }
+                        try {
+                            request.run();
+                        } catch (Throwable t) {
+                            MinecraftServer.getExceptionManager().handleException(t);
+                        }
+                    }
+                } finally {
+                    this.dispatching.set(false);
+                }
+            } while (!waiting.isEmpty() && permits.availablePermits() > 0);
+        }
+    }
+}
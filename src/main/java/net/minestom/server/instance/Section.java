@@ -44,15 +44,21 @@ public final class Section implements NetworkBuffer.Writer {
         this.biomePalette.fill(0);
     }
 
+    /**
+     * Copies the section, the palettes and light are shared until modified.
+     *
+     * @return a copy of this section
+     */
     @Override
     public @NotNull Section clone() {
+        final Palette blockPalette = this.blockPalette.clone();
         final Light skyLight = Light.sky(blockPalette);
         final Light blockLight = Light.block(blockPalette);
 
-        skyLight.set(this.skyLight.array());
-        blockLight.set(this.blockLight.array());
+        skyLight.share(this.skyLight.array());
+        blockLight.share(this.blockLight.array());
 
-        return new Section(this.blockPalette.clone(), this.biomePalette.clone(), skyLight, blockLight);
+        return new Section(blockPalette, this.biomePalette.clone(), skyLight, blockLight);
     }
 
     @Override
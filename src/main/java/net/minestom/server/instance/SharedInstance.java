@@ -2,6 +2,7 @@ package net.minestom.server.instance;
 
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Player;
+import net.minestom.server.entity.pathfinding.NavigationGrid;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.block.BlockHandler;
@@ -117,6 +118,11 @@ public class SharedInstance extends Instance {
         return instanceContainer.isInVoid(point);
     }
 
+    @Override
+    public @NotNull NavigationGrid getNavigationGrid() {
+        return instanceContainer.getNavigationGrid();
+    }
+
     /**
      * Gets the {@link InstanceContainer} from where this instance takes its chunks from.
      *
@@ -6,7 +6,6 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.Section;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import org.jetbrains.annotations.NotNull;
@@ -51,9 +50,7 @@ final class BlockLight implements Light {
         ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
         // Apply section light
         blockPalette.getAllPresent((x, y, z, stateId) -> {
-            final Block block = Block.fromStateId((short) stateId);
-            assert block != null;
-            final byte lightEmission = (byte) block.registry().lightEmission();
+            final int lightEmission = OcclusionTable.lightEmission(stateId);
 
             final int index = x | (z << 4) | (y << 8);
             if (lightEmission > 0) {
@@ -63,10 +60,6 @@ final class BlockLight implements Light {
         return lightSources;
     }
 
-    private static Block getBlock(Palette palette, int x, int y, int z) {
-        return Block.fromStateId((short)palette.get(x, y, z));
-    }
-
     private ShortArrayFIFOQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
         ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
 
@@ -111,28 +104,20 @@ final class BlockLight implements Light {
                         if (lightEmission <= internalEmission) continue;
                     }
 
-                    final Block blockTo = switch(face) {
-                        case NORTH, SOUTH -> getBlock(blockPalette, bx, by, k);
-                        case WEST, EAST -> getBlock(blockPalette, k, bx, by);
-                        default -> getBlock(blockPalette, bx, k, by);
+                    final int stateTo = switch (face) {
+                        case NORTH, SOUTH -> blockPalette.get(bx, by, k);
+                        case WEST, EAST -> blockPalette.get(k, bx, by);
+                        default -> blockPalette.get(bx, k, by);
                     };
 
-                    final Block blockFrom = (switch (face) {
-                        case NORTH, SOUTH -> getBlock(otherSection.blockPalette(), bx, by, 15 - k);
-                        case WEST, EAST -> getBlock(otherSection.blockPalette(), 15 - k, bx, by);
-                        default -> getBlock(otherSection.blockPalette(), bx, 15 - k, by);
-                    });
-
-                    if (blockTo == null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(Block.AIR.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    } else if (blockTo != null && blockFrom == null) {
-                        if (Block.AIR.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face))
-                            continue;
-                    } else if (blockTo != null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    }
+                    final int stateFrom = switch (face) {
+                        case NORTH, SOUTH -> otherSection.blockPalette().get(bx, by, 15 - k);
+                        case WEST, EAST -> otherSection.blockPalette().get(15 - k, bx, by);
+                        default -> otherSection.blockPalette().get(bx, 15 - k, by);
+                    };
+
+                    if (OcclusionTable.isOccluded(stateFrom, stateTo, OcclusionTable.OPPOSITE_FACES[face.ordinal()]))
+                        continue;
 
                     if (lightEmission > 0) {
                         final int index = posTo | (lightEmission << 12);
@@ -207,6 +192,19 @@ final class BlockLight implements Light {
         this.content = copyArray.clone();
     }
 
+    @Override
+    public void share(byte @NotNull [] content) {
+        this.content = content.length == 0 ? null : content;
+    }
+
+    @Override
+    public void replace(byte @NotNull [] content) {
+        this.content = content;
+        this.contentPropagation = null;
+        this.contentPropagationSwap = null;
+        this.needsSend = true;
+    }
+
     @Override
     public boolean requiresSend() {
         boolean res = needsSend;
@@ -52,6 +52,24 @@ public interface Light {
 
     void set(byte[] copyArray);
 
+    /**
+     * Sets the light without copying {@code content}.
+     * <p>
+     * Light arrays are replaced rather than modified, they can therefore be shared between sections.
+     *
+     * @param content the light to share
+     */
+    @ApiStatus.Internal
+    void share(byte @NotNull [] content);
+
+    /**
+     * Replaces the whole light of the section after an incremental update, and flags it to be sent.
+     *
+     * @param content the new light, owned by the section from now on
+     */
+    @ApiStatus.Internal
+    void replace(byte @NotNull [] content);
+
     @ApiStatus.Internal
     static Point[] getNeighbors(Chunk chunk, int sectionY) {
         int chunkX = chunk.getChunkX();
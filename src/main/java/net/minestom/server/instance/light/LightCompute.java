@@ -1,14 +1,12 @@
 package net.minestom.server.instance.light;
 
 import it.unimi.dsi.fastutil.shorts.ShortArrayFIFOQueue;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.utils.Direction;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayDeque;
-import java.util.Objects;
+import java.util.Arrays;
 
 import static net.minestom.server.instance.light.BlockLight.buildInternalQueue;
 
@@ -17,6 +15,22 @@ public final class LightCompute {
     static final int LIGHT_LENGTH = 16 * 16 * 16 / 2;
     static final int SECTION_SIZE = 16;
 
+    static final int[] FACE_X = new int[FACES.length];
+    static final int[] FACE_Y = new int[FACES.length];
+    static final int[] FACE_Z = new int[FACES.length];
+
+    static {
+        for (BlockFace face : FACES) {
+            final Direction direction = face.toDirection();
+            FACE_X[face.ordinal()] = direction.normalX();
+            FACE_Y[face.ordinal()] = direction.normalY();
+            FACE_Z[face.ordinal()] = direction.normalZ();
+        }
+    }
+
+    private static final ThreadLocal<int[]> LOCAL_STATES = ThreadLocal.withInitial(() -> new int[SECTION_SIZE * SECTION_SIZE * SECTION_SIZE]);
+    private static final ThreadLocal<ShortArrayFIFOQueue> LOCAL_QUEUE = ThreadLocal.withInitial(ShortArrayFIFOQueue::new);
+
     public static final byte[] emptyContent = new byte[LIGHT_LENGTH];
 
     static @NotNull Result compute(Palette blockPalette) {
@@ -29,8 +43,9 @@ public final class LightCompute {
         }
 
         byte[] lightArray = new byte[LIGHT_LENGTH];
-
-        var lightSources = new ArrayDeque<Short>();
+        final int[] states = loadStates(blockPalette);
+        final ShortArrayFIFOQueue lightSources = LOCAL_QUEUE.get();
+        lightSources.clear();
 
         while (!lightPre.isEmpty()) {
             int index = lightPre.dequeueShort();
@@ -45,23 +60,24 @@ public final class LightCompute {
 
             if (oldLightLevel < newLightLevel) {
                 placeLight(lightArray, newIndex, newLightLevel);
-                lightSources.add((short) index);
+                lightSources.enqueue((short) index);
             }
         }
 
         while (!lightSources.isEmpty()) {
-            final int index = lightSources.poll();
+            final int index = lightSources.dequeueShort();
             final int x = index & 15;
             final int z = (index >> 4) & 15;
             final int y = (index >> 8) & 15;
             final int lightLevel = (index >> 12) & 15;
+            final int currentIndex = index & 0xFFF;
+            final int currentState = states[currentIndex];
+            final int newLightLevel = lightLevel - 1;
 
-            for (BlockFace face : FACES) {
-                Direction dir = face.toDirection();
-                final int xO = x + dir.normalX();
-                final int yO = y + dir.normalY();
-                final int zO = z + dir.normalZ();
-                final byte newLightLevel = (byte) (lightLevel - 1);
+            for (int face = 0; face < FACES.length; face++) {
+                final int xO = x + FACE_X[face];
+                final int yO = y + FACE_Y[face];
+                final int zO = z + FACE_Z[face];
 
                 // Handler border
                 if (xO < 0 || xO >= SECTION_SIZE || yO < 0 || yO >= SECTION_SIZE || zO < 0 || zO >= SECTION_SIZE) {
@@ -71,19 +87,32 @@ public final class LightCompute {
                 // Section
                 final int newIndex = xO | (zO << 4) | (yO << 8);
                 if (getLight(lightArray, newIndex) + 2 <= lightLevel) {
-                    final Block currentBlock = Objects.requireNonNullElse(Block.fromStateId((short)blockPalette.get(x, y, z)), Block.AIR);
-                    final Block propagatedBlock = Objects.requireNonNullElse(Block.fromStateId((short)blockPalette.get(xO, yO, zO)), Block.AIR);
-
-                    boolean airAir = currentBlock.isAir() && propagatedBlock.isAir();
-                    if (!airAir && currentBlock.registry().collisionShape().isOccluded(propagatedBlock.registry().collisionShape(), face)) continue;
+                    final int propagatedState = states[newIndex];
+                    final boolean airAir = currentState == 0 && propagatedState == 0;
+                    if (!airAir && OcclusionTable.isOccluded(currentState, propagatedState, face)) continue;
                     placeLight(lightArray, newIndex, newLightLevel);
-                    lightSources.add((short) (newIndex | (newLightLevel << 12)));
+                    lightSources.enqueue((short) (newIndex | (newLightLevel << 12)));
                 }
             }
         }
         return new Result(lightArray);
     }
 
+    /**
+     * Copies the state ids of a section to avoid going through the palette for each neighbour.
+     *
+     * @return the thread local state ids indexed by {@code x | z << 4 | y << 8}
+     */
+    private static int[] loadStates(Palette blockPalette) {
+        final int[] states = LOCAL_STATES.get();
+        if (blockPalette.count() == 0) {
+            Arrays.fill(states, 0);
+        } else {
+            blockPalette.getAll((x, y, z, value) -> states[x | (z << 4) | (y << 8)] = value);
+        }
+        return states;
+    }
+
     record Result(byte[] light) {
         Result {
             assert light.length == LIGHT_LENGTH : "Only 16x16x16 sections are supported: " + light.length;
@@ -94,7 +123,7 @@ public final class LightCompute {
         }
     }
 
-    private static void placeLight(byte[] light, int index, int value) {
+    static void placeLight(byte[] light, int index, int value) {
         final int shift = (index & 1) << 2;
         final int i = index >>> 1;
         light[i] = (byte) ((light[i] & (0xF0 >>> shift)) | (value << shift));
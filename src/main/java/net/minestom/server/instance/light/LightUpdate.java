@@ -0,0 +1,284 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.minestom.server.instance.light.LightCompute.*;
+
+/**
+ * Updates the light around a single changed block without recomputing whole sections.
+ * <p>
+ * A decrease pass removes the light which may have gone through the changed block,
+ * then an increase pass propagates the new emission and the light of the remaining borders back.
+ * Both passes work on world coordinates and cross section borders, only the sections whose light
+ * actually changed are written back and flagged to be sent.
+ * <p>
+ * The update is abandoned when a section around still requires a full relight, or when it would touch
+ * too many blocks, in which case the caller should fall back to invalidating the sections.
+ */
+@ApiStatus.Internal
+public final class LightUpdate {
+    private static final int MAX_OPERATIONS = Integer.getInteger("minestom.light.max-incremental-operations", 1 << 16);
+    private static final int MAX_LIGHT = 15;
+    // Queue entries: x offset (6 bits) | z offset (6 bits) | y - minY (12 bits) | light level (4 bits)
+    private static final int OFFSET = 32;
+    private static final SectionLight MISSING = new SectionLight(null, null, null);
+
+    private final Instance instance;
+    private final boolean sky;
+    private final int originX, originZ;
+    private final int minY, maxY;
+    private final Long2ObjectOpenHashMap<SectionLight> sections = new Long2ObjectOpenHashMap<>();
+    private final IntArrayFIFOQueue decreaseQueue = new IntArrayFIFOQueue();
+    private final IntArrayFIFOQueue increaseQueue = new IntArrayFIFOQueue();
+    private int operations;
+    private boolean aborted;
+
+    private LightUpdate(Instance instance, boolean sky, int originX, int originZ) {
+        this.instance = instance;
+        this.sky = sky;
+        this.originX = originX;
+        this.originZ = originZ;
+        this.minY = instance.getDimensionType().getMinY();
+        this.maxY = minY + instance.getDimensionType().getHeight();
+    }
+
+    /**
+     * Updates the block light after the block at the given position changed.
+     *
+     * @return the update to {@link #apply()}, or null if it cannot be done incrementally
+     */
+    public static @Nullable LightUpdate block(@NotNull Instance instance, int x, int y, int z) {
+        LightUpdate update = new LightUpdate(instance, false, x, z);
+        final int oldLevel = update.level(x, y, z);
+        if (oldLevel < 0 || update.aborted) return null;
+        if (oldLevel > 0) {
+            update.setLevel(x, y, z, 0);
+            update.enqueue(update.decreaseQueue, x, y, z, oldLevel);
+        }
+        if (!update.decrease()) return null;
+
+        final int emission = OcclusionTable.lightEmission(update.state(x, y, z));
+        if (emission > 0) {
+            update.setLevel(x, y, z, emission);
+            update.enqueue(update.increaseQueue, x, y, z, emission);
+        }
+        update.enqueueNeighbours(x, y, z);
+        return update.increase() ? update : null;
+    }
+
+    /**
+     * Updates the sky light after the block at the given position changed.
+     *
+     * @param oldHeight the lowest sky lit y of the column before the change
+     * @param newHeight the lowest sky lit y of the column after the change
+     * @return the update to {@link #apply()}, or null if it cannot be done incrementally
+     */
+    public static @Nullable LightUpdate sky(@NotNull Instance instance, int x, int y, int z, int oldHeight, int newHeight) {
+        LightUpdate update = new LightUpdate(instance, true, x, z);
+        // Blocks that are no longer directly under the sky
+        for (int columnY = oldHeight; columnY < newHeight; columnY++) {
+            final int oldLevel = update.level(x, columnY, z);
+            if (update.aborted) return null;
+            if (oldLevel <= 0) continue;
+            update.setLevel(x, columnY, z, 0);
+            update.enqueue(update.decreaseQueue, x, columnY, z, oldLevel);
+        }
+        if (y < newHeight && y < oldHeight) {
+            // Changed block below the sky, not handled by the column
+            final int oldLevel = update.level(x, y, z);
+            if (oldLevel < 0 || update.aborted) return null;
+            if (oldLevel > 0) {
+                update.setLevel(x, y, z, 0);
+                update.enqueue(update.decreaseQueue, x, y, z, oldLevel);
+            }
+        }
+        if (!update.decrease()) return null;
+
+        // Blocks that are now directly under the sky
+        for (int columnY = newHeight; columnY < oldHeight; columnY++) {
+            if (update.level(x, columnY, z) < 0) continue;
+            update.setLevel(x, columnY, z, MAX_LIGHT);
+            update.enqueue(update.increaseQueue, x, columnY, z, MAX_LIGHT);
+        }
+        update.enqueueNeighbours(x, y, z);
+        return update.increase() ? update : null;
+    }
+
+    /**
+     * Writes the changed light back to the sections.
+     *
+     * @return the chunks whose light changed
+     */
+    public @NotNull Set<Chunk> apply() {
+        Set<Chunk> changed = new HashSet<>();
+        for (SectionLight section : sections.values()) {
+            if (section.working == null || Arrays.equals(section.working, section.original)) continue;
+            section.light.replace(section.working);
+            changed.add(section.chunk);
+        }
+        return changed;
+    }
+
+    private boolean decrease() {
+        while (!decreaseQueue.isEmpty()) {
+            if (++operations > MAX_OPERATIONS) return false;
+            final int entry = decreaseQueue.dequeueInt();
+            final int x = entryX(entry), y = entryY(entry), z = entryZ(entry);
+            final int level = entry >>> 24;
+            for (int face = 0; face < FACES.length; face++) {
+                final int xO = x + FACE_X[face], yO = y + FACE_Y[face], zO = z + FACE_Z[face];
+                final int neighbourLevel = level(xO, yO, zO);
+                if (aborted) return false;
+                if (neighbourLevel <= 0) continue;
+                if (neighbourLevel < level) {
+                    // May have been lit by the removed light
+                    setLevel(xO, yO, zO, 0);
+                    if (!enqueue(decreaseQueue, xO, yO, zO, neighbourLevel)) return false;
+                    final int emission = sky ? 0 : OcclusionTable.lightEmission(state(xO, yO, zO));
+                    if (emission > 0) {
+                        setLevel(xO, yO, zO, emission);
+                        if (!enqueue(increaseQueue, xO, yO, zO, emission)) return false;
+                    }
+                } else {
+                    // Lit by another source, propagate it back
+                    if (!enqueue(increaseQueue, xO, yO, zO, neighbourLevel)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean increase() {
+        if (aborted) return false;
+        while (!increaseQueue.isEmpty()) {
+            if (++operations > MAX_OPERATIONS) return false;
+            final int entry = increaseQueue.dequeueInt();
+            final int x = entryX(entry), y = entryY(entry), z = entryZ(entry);
+            final int level = entry >>> 24;
+            // Outdated entry
+            if (level(x, y, z) != level) continue;
+            final int state = state(x, y, z);
+            for (int face = 0; face < FACES.length; face++) {
+                final int xO = x + FACE_X[face], yO = y + FACE_Y[face], zO = z + FACE_Z[face];
+                final int neighbourLevel = level(xO, yO, zO);
+                if (aborted) return false;
+                if (neighbourLevel < 0 || neighbourLevel + 2 > level) continue;
+                final int neighbourState = state(xO, yO, zO);
+                final boolean airAir = state == 0 && neighbourState == 0;
+                if (!airAir && OcclusionTable.isOccluded(state, neighbourState, face)) continue;
+                setLevel(xO, yO, zO, level - 1);
+                if (!enqueue(increaseQueue, xO, yO, zO, level - 1)) return false;
+            }
+        }
+        return true;
+    }
+
+    private void enqueueNeighbours(int x, int y, int z) {
+        for (int face = 0; face < FACES.length; face++) {
+            final int xO = x + FACE_X[face], yO = y + FACE_Y[face], zO = z + FACE_Z[face];
+            final int level = level(xO, yO, zO);
+            if (level > 0) enqueue(increaseQueue, xO, yO, zO, level);
+        }
+    }
+
+    private boolean enqueue(IntArrayFIFOQueue queue, int x, int y, int z, int level) {
+        final int offsetX = x - originX + OFFSET, offsetZ = z - originZ + OFFSET;
+        if (offsetX < 0 || offsetX >= OFFSET * 2 || offsetZ < 0 || offsetZ >= OFFSET * 2) {
+            this.aborted = true;
+            return false;
+        }
+        queue.enqueue(offsetX | offsetZ << 6 | (y - minY) << 12 | level << 24);
+        return true;
+    }
+
+    private int entryX(int entry) {
+        return (entry & 0x3F) + originX - OFFSET;
+    }
+
+    private int entryZ(int entry) {
+        return (entry >>> 6 & 0x3F) + originZ - OFFSET;
+    }
+
+    private int entryY(int entry) {
+        return (entry >>> 12 & 0xFFF) + minY;
+    }
+
+    /**
+     * @return the light level, or -1 if the block is outside the loaded world
+     */
+    private int level(int x, int y, int z) {
+        final SectionLight section = section(x, y, z);
+        if (section == MISSING) return -1;
+        final int index = (x & 15) | (z & 15) << 4 | (y & 15) << 8;
+        if (section.working != null) return getLight(section.working, index);
+        return section.light.getLevel(x & 15, y & 15, z & 15);
+    }
+
+    private void setLevel(int x, int y, int z, int level) {
+        final SectionLight section = section(x, y, z);
+        if (section == MISSING) return;
+        byte[] working = section.working;
+        if (working == null) {
+            working = section.original.length == LIGHT_LENGTH ? section.original.clone() : new byte[LIGHT_LENGTH];
+            section.working = working;
+        }
+        placeLight(working, (x & 15) | (z & 15) << 4 | (y & 15) << 8, level);
+    }
+
+    private int state(int x, int y, int z) {
+        final SectionLight section = section(x, y, z);
+        if (section == MISSING) return 0;
+        return section.palette.get(x & 15, y & 15, z & 15);
+    }
+
+    private SectionLight section(int x, int y, int z) {
+        if (y < minY || y >= maxY) return MISSING;
+        final int chunkX = ChunkUtils.getChunkCoordinate(x);
+        final int sectionY = ChunkUtils.getChunkCoordinate(y);
+        final int chunkZ = ChunkUtils.getChunkCoordinate(z);
+        final long key = ((long) chunkX & 0x3FFFFF) << 42 | ((long) chunkZ & 0x3FFFFF) << 20 | (sectionY & 0xFFFFF);
+        SectionLight section = sections.get(key);
+        if (section != null) return section;
+
+        final Chunk chunk = instance.getChunk(chunkX, chunkZ);
+        if (chunk == null) {
+            section = MISSING;
+        } else {
+            final Section chunkSection = chunk.getSection(sectionY);
+            final Light light = sky ? chunkSection.skyLight() : chunkSection.blockLight();
+            // Pending relight, the incremental result would be overwritten
+            if (light.requiresUpdate()) this.aborted = true;
+            section = new SectionLight(chunk, light, chunkSection.blockPalette());
+            section.original = light.array();
+        }
+        this.sections.put(key, section);
+        return section;
+    }
+
+    private static final class SectionLight {
+        private final Chunk chunk;
+        private final Light light;
+        private final Palette palette;
+        private byte[] original;
+        private byte[] working;
+
+        SectionLight(Chunk chunk, Light light, Palette palette) {
+            this.chunk = chunk;
+            this.light = light;
+            this.palette = palette;
+        }
+    }
+}
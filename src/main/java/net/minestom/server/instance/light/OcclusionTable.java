@@ -0,0 +1,69 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.collision.CollisionTable;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+
+/**
+ * Light emission and face occlusion of every block state, built once from the registry.
+ * <p>
+ * Lets light propagation work on state ids without resolving {@link Block} objects,
+ * only two partially covered faces still require the shapes to be compared.
+ */
+final class OcclusionTable {
+    private static final int EMPTY_SHIFT = 6;
+    private static final int EMISSION_SHIFT = 12;
+    private static final int FACE_MASK = 0x3F;
+
+    static final int[] OPPOSITE_FACES = new int[LightCompute.FACES.length];
+    // State id -> full faces (6 bits) | empty faces (6 bits) | light emission (4 bits)
+    private static final int[] STATES;
+
+    static {
+        for (BlockFace face : LightCompute.FACES) {
+            OPPOSITE_FACES[face.ordinal()] = face.getOppositeFace().ordinal();
+        }
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) maxStateId = Math.max(maxStateId, state.stateId());
+        }
+        int[] states = new int[maxStateId + 1];
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                final int stateId = state.stateId();
+                states[stateId] = (CollisionTable.fullFaces(stateId) & FACE_MASK)
+                        | (CollisionTable.emptyFaces(stateId) & FACE_MASK) << EMPTY_SHIFT
+                        | (state.registry().lightEmission() & 0xF) << EMISSION_SHIFT;
+            }
+        }
+        STATES = states;
+    }
+
+    static int lightEmission(int stateId) {
+        return entry(stateId) >>> EMISSION_SHIFT & 0xF;
+    }
+
+    /**
+     * Equivalent to {@code from.collisionShape().isOccluded(to.collisionShape(), face)}.
+     *
+     * @param fromState the state id of the block light comes from
+     * @param toState   the state id of the block light goes to
+     * @param face      the {@link BlockFace#ordinal()} of {@code from} facing {@code to}
+     * @return true if light cannot go through
+     */
+    static boolean isOccluded(int fromState, int toState, int face) {
+        final int from = entry(fromState);
+        final int to = entry(toState);
+        final int opposite = OPPOSITE_FACES[face];
+        final boolean fullOther = (to >>> opposite & 1) == 1;
+        if ((from >>> EMISSION_SHIFT) != 0) return fullOther;
+        if (fullOther || (from >>> face & 1) == 1) return true;
+        if ((from >>> (EMPTY_SHIFT + face) & 1) == 1 || (to >>> (EMPTY_SHIFT + opposite) & 1) == 1) return false;
+        // Two partial faces
+        return CollisionTable.shape(fromState).isOccluded(CollisionTable.shape(toState), LightCompute.FACES[face]);
+    }
+
+    private static int entry(int stateId) {
+        return stateId >= 0 && stateId < STATES.length ? STATES[stateId] : STATES[0];
+    }
+}
@@ -7,7 +7,6 @@ import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.LightingChunk;
 import net.minestom.server.instance.Section;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import org.jetbrains.annotations.NotNull;
@@ -79,10 +78,6 @@ final class SkyLight implements Light {
         return lightSources;
     }
 
-    private static Block getBlock(Palette palette, int x, int y, int z) {
-        return Block.fromStateId((short)palette.get(x, y, z));
-    }
-
     private ShortArrayFIFOQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
         ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
 
@@ -127,28 +122,20 @@ final class SkyLight implements Light {
                         if (lightEmission <= internalEmission) continue;
                     }
 
-                    final Block blockTo = switch (face) {
-                        case NORTH, SOUTH -> getBlock(blockPalette, bx, by, k);
-                        case WEST, EAST -> getBlock(blockPalette, k, bx, by);
-                        default -> getBlock(blockPalette, bx, k, by);
+                    final int stateTo = switch (face) {
+                        case NORTH, SOUTH -> blockPalette.get(bx, by, k);
+                        case WEST, EAST -> blockPalette.get(k, bx, by);
+                        default -> blockPalette.get(bx, k, by);
                     };
 
-                    final Block blockFrom = (switch (face) {
-                        case NORTH, SOUTH -> getBlock(otherSection.blockPalette(), bx, by, 15 - k);
-                        case WEST, EAST -> getBlock(otherSection.blockPalette(), 15 - k, bx, by);
-                        default -> getBlock(otherSection.blockPalette(), bx, 15 - k, by);
-                    });
-
-                    if (blockTo == null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(Block.AIR.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    } else if (blockTo != null && blockFrom == null) {
-                        if (Block.AIR.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face))
-                            continue;
-                    } else if (blockTo != null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    }
+                    final int stateFrom = switch (face) {
+                        case NORTH, SOUTH -> otherSection.blockPalette().get(bx, by, 15 - k);
+                        case WEST, EAST -> otherSection.blockPalette().get(15 - k, bx, by);
+                        default -> otherSection.blockPalette().get(bx, 15 - k, by);
+                    };
+
+                    if (OcclusionTable.isOccluded(stateFrom, stateTo, OcclusionTable.OPPOSITE_FACES[face.ordinal()]))
+                        continue;
 
                     final int index = posTo | (lightEmission << 12);
 
@@ -233,6 +220,20 @@ final class SkyLight implements Light {
         this.content = copyArray.clone();
     }
 
+    @Override
+    public void share(byte @NotNull [] content) {
+        this.content = content.length == 0 ? null : content;
+    }
+
+    @Override
+    public void replace(byte @NotNull [] content) {
+        this.content = content;
+        this.contentPropagation = null;
+        this.contentPropagationSwap = null;
+        this.fullyLit = false;
+        this.needsSend = true;
+    }
+
     @Override
     public boolean requiresSend() {
         boolean res = needsSend;
@@ -10,6 +10,9 @@ import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend until one of them is modified, {@link FilledPalette} being immutable
+ * and {@link FlexiblePalette} being copied on the first write while shared.
  */
 final class AdaptivePalette implements Palette, Cloneable {
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
@@ -51,14 +54,14 @@ final class AdaptivePalette implements Palette, Cloneable {
 
     @Override
     public void fill(int value) {
-        this.palette = new FilledPalette(dimension, value);
+        replacePalette(new FilledPalette(dimension, value));
     }
 
     @Override
     public void setAll(@NotNull EntrySupplier supplier) {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
-        this.palette = newPalette;
+        replacePalette(newPalette);
     }
 
     @Override
@@ -98,7 +101,7 @@ final class AdaptivePalette implements Palette, Cloneable {
     public @NotNull Palette clone() {
         try {
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            if (palette instanceof FlexiblePalette flexiblePalette) flexiblePalette.retain();
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -108,7 +111,7 @@ final class AdaptivePalette implements Palette, Cloneable {
     @Override
     public void write(@NotNull NetworkBuffer writer) {
         final SpecializedPalette optimized = optimizedPalette();
-        this.palette = optimized;
+        replacePalette(optimized);
         optimized.write(writer);
     }
 
@@ -128,8 +131,9 @@ final class AdaptivePalette implements Palette, Cloneable {
                     return new FilledPalette(dimension, entries.iterator().nextInt());
                 } else if (currentBitsPerEntry > defaultBitsPerEntry &&
                         (bitsPerEntry = MathUtils.bitsToRepresent(entries.size() - 1)) < currentBitsPerEntry) {
-                    flexiblePalette.resize((byte) bitsPerEntry);
-                    return flexiblePalette;
+                    final FlexiblePalette ownedPalette = (FlexiblePalette) flexiblePalette();
+                    ownedPalette.resize((byte) bitsPerEntry);
+                    return ownedPalette;
                 }
             }
         }
@@ -142,10 +146,22 @@ final class AdaptivePalette implements Palette, Cloneable {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+        } else if (currentPalette instanceof FlexiblePalette flexiblePalette && flexiblePalette.isShared()) {
+            // Copy on write
+            currentPalette = flexiblePalette.clone();
+            flexiblePalette.release();
+            this.palette = currentPalette;
         }
         return currentPalette;
     }
 
+    private void replacePalette(SpecializedPalette newPalette) {
+        final SpecializedPalette currentPalette = this.palette;
+        if (currentPalette == newPalette) return;
+        if (currentPalette instanceof FlexiblePalette flexiblePalette) flexiblePalette.release();
+        this.palette = newPalette;
+    }
+
     private static void validateDimension(int dimension) {
         if (dimension <= 1 || (dimension & dimension - 1) != 0)
             throw new IllegalArgumentException("Dimension must be a positive power of 2");
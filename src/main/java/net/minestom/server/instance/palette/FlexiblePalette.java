@@ -29,6 +29,8 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
     IntArrayList paletteToValueList;
     // value = palette index
     private Int2IntOpenHashMap valueToPaletteMap;
+    // Number of adaptive palettes using this one, must be copied before being modified if above 1
+    private AtomicInteger references = new AtomicInteger(1);
 
     FlexiblePalette(AdaptivePalette adaptivePalette, byte bitsPerEntry) {
         this.adaptivePalette = adaptivePalette;
@@ -201,6 +203,7 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
             palette.paletteToValueList = paletteToValueList.clone();
             palette.valueToPaletteMap = valueToPaletteMap.clone();
             palette.count = count;
+            palette.references = new AtomicInteger(1);
             return palette;
         } catch (CloneNotSupportedException e) {
             MinecraftServer.getExceptionManager().handleException(e);
@@ -266,6 +269,18 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         }
     }
 
+    void retain() {
+        this.references.incrementAndGet();
+    }
+
+    void release() {
+        this.references.decrementAndGet();
+    }
+
+    boolean isShared() {
+        return references.get() > 1;
+    }
+
     void resize(byte newBitsPerEntry) {
         newBitsPerEntry = newBitsPerEntry > maxBitsPerEntry() ? 15 : newBitsPerEntry;
         FlexiblePalette palette = new FlexiblePalette(adaptivePalette, newBitsPerEntry);
@@ -79,9 +79,9 @@ public sealed abstract class AbstractInventory implements InventoryClickHandler,
             UNSAFE_itemInsert(slot, itemStack, sendPacket);
         }
         if (this instanceof PlayerInventory inv) {
-            EventDispatcher.call(new PlayerInventoryItemChangeEvent(inv.player, slot, previous, itemStack));
+            EventDispatcher.call(PlayerInventoryItemChangeEvent.class, () -> new PlayerInventoryItemChangeEvent(inv.player, slot, previous, itemStack));
         } else if (this instanceof Inventory inv) {
-            EventDispatcher.call(new InventoryItemChangeEvent(inv, slot, previous, itemStack));
+            EventDispatcher.call(InventoryItemChangeEvent.class, () -> new InventoryItemChangeEvent(inv, slot, previous, itemStack));
         }
     }
 
@@ -117,9 +117,9 @@ public final class PacketListenerManager {
 
         // Event
         if (state == ConnectionState.PLAY) {
-            PlayerPacketEvent playerPacketEvent = new PlayerPacketEvent(connection.getPlayer(), packet);
-            EventDispatcher.call(playerPacketEvent);
-            if (playerPacketEvent.isCancelled()) {
+            PlayerPacketEvent playerPacketEvent = EventDispatcher.call(PlayerPacketEvent.class,
+                    () -> new PlayerPacketEvent(connection.getPlayer(), packet));
+            if (playerPacketEvent != null && playerPacketEvent.isCancelled()) {
                 return;
             }
         }
@@ -0,0 +1,149 @@
+package net.minestom.server.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size histogram of nanosecond durations, recording does not allocate.
+ * <p>
+ * Values are stored in logarithmic buckets each split into {@value #SUB_BUCKET_COUNT} linear sub-buckets,
+ * meaning that reported percentiles are accurate to about 6%. Values above ~18 minutes are clamped.
+ * <p>
+ * Safe to record from multiple threads, reads may however observe a recording in progress.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        final long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.count.incrementAndGet();
+        this.total.addAndGet(value);
+        long currentMax;
+        while ((currentMax = max.get()) < value) {
+            if (max.compareAndSet(currentMax, value)) break;
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Gets the sum of all recorded values.
+     *
+     * @return the total in nanoseconds
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * Gets the highest recorded value.
+     *
+     * @return the max in nanoseconds, 0 if empty
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average of all recorded values.
+     *
+     * @return the mean in nanoseconds, 0 if empty
+     */
+    public double mean() {
+        final long count = count();
+        return count != 0 ? (double) total() / count : 0;
+    }
+
+    /**
+     * Gets the value below which the given percentage of values fall.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the highest value equivalent to the percentile in nanoseconds, 0 if empty
+     */
+    public long percentile(double percentile) {
+        final long count = count();
+        if (count == 0) return 0;
+        final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestValue(i), max());
+        }
+        return max();
+    }
+
+    /**
+     * Adds all the values recorded in another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void add(@NotNull LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long value = other.counts.get(i);
+            if (value != 0) counts.addAndGet(i, value);
+        }
+        this.count.addAndGet(other.count());
+        this.total.addAndGet(other.total());
+        final long otherMax = other.max();
+        long currentMax;
+        while ((currentMax = max.get()) < otherMax) {
+            if (max.compareAndSet(currentMax, otherMax)) break;
+        }
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+        this.count.set(0);
+        this.total.set(0);
+        this.max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.3fms p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                count(), mean() / 1e6D, percentile(50) / 1e6D, percentile(99) / 1e6D,
+                percentile(99.9) / 1e6D, max() / 1e6D);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final int subBucket = index % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
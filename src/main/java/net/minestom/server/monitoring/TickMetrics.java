@@ -0,0 +1,91 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.ServerProcess;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Always-on latency histograms of each phase of a server tick.
+ * <p>
+ * Retrieved with {@link ServerProcess.Ticker#metrics()}. Recording does not allocate,
+ * histograms keep growing until {@link #reset()} is called.
+ */
+public final class TickMetrics {
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    public TickMetrics() {
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+    }
+
+    /**
+     * Gets the durations of a tick phase.
+     *
+     * @param phase the tick phase
+     * @return the live histogram of the phase
+     */
+    public @NotNull LatencyHistogram histogram(@NotNull Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    @ApiStatus.Internal
+    public void record(@NotNull Phase phase, long nanos) {
+        this.histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Clears the durations of all phases.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) histogram.reset();
+    }
+
+    /**
+     * Formats the percentiles of every phase.
+     *
+     * @return the text report, one line per phase
+     */
+    public @NotNull String dump() {
+        StringBuilder builder = new StringBuilder();
+        for (Phase phase : PHASES) {
+            builder.append(phase.name()).append(": ").append(histogram(phase)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    public enum Phase {
+        /**
+         * Scheduled tasks, see {@link net.minestom.server.timer.SchedulerManager#processTick()}.
+         */
+        SCHEDULER,
+        /**
+         * Waiting players, keep alives and configuration packets.
+         */
+        CONNECTION,
+        /**
+         * Instances themselves, excluding their chunks and entities.
+         */
+        INSTANCES,
+        /**
+         * Chunks and entities, see {@link net.minestom.server.thread.ThreadDispatcher#updateAndAwait(long)}.
+         */
+        DISPATCHER,
+        /**
+         * Partitions thread update, see {@link net.minestom.server.thread.ThreadDispatcher#refreshThreads(long)}.
+         */
+        REFRESH_THREADS,
+        /**
+         * Flush of the packets waiting to be sent.
+         */
+        FLUSH,
+        /**
+         * Server connection tick.
+         */
+        SERVER,
+        /**
+         * Whole tick.
+         */
+        TOTAL
+    }
+}
@@ -0,0 +1,232 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Tickable;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.thread.ThreadDispatcher;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes the time spent in {@link ThreadDispatcher#updateAndAwait(long)} to each partition
+ * and to each kind of {@link Tickable} (e.g. entity type per instance).
+ * <p>
+ * Disabled by default, see {@link #enable()}. Durations are accumulated in a {@link LatencyHistogram} per key
+ * during a window of {@link #getWindowTicks()} ticks, reports are always based on the last complete window.
+ * <p>
+ * Retrieved with {@link ThreadDispatcher#profiler()}.
+ */
+public final class TickProfiler {
+    private static final UUID NO_INSTANCE = new UUID(0, 0);
+
+    private final Map<Object, Profile> partitions = new ConcurrentHashMap<>();
+    // Element type (entity type or class) -> instance -> profile
+    private final Map<Object, Map<UUID, Profile>> elements = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile int windowTicks = MinecraftServer.TICK_PER_SECOND * 5;
+    private int tickCounter;
+
+    public void enable() {
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of ticks after which the collected durations are made available in reports.
+     *
+     * @return the window size in ticks
+     */
+    public int getWindowTicks() {
+        return windowTicks;
+    }
+
+    public void setWindowTicks(int windowTicks) {
+        if (windowTicks <= 0) throw new IllegalArgumentException("Window must be positive");
+        this.windowTicks = windowTicks;
+    }
+
+    /**
+     * Clears all the collected data.
+     */
+    public void reset() {
+        this.partitions.clear();
+        this.elements.clear();
+        this.tickCounter = 0;
+    }
+
+    /**
+     * Gets the partitions which spent the most time ticking during the last window.
+     *
+     * @param limit the maximum number of results
+     * @return the partitions sorted by total tick time, most expensive first
+     */
+    public @NotNull List<Result> topPartitions(int limit) {
+        return top(partitions.values(), limit);
+    }
+
+    /**
+     * Gets the element kinds which spent the most time ticking during the last window.
+     * <p>
+     * Entities are grouped by type and instance, other elements by class and instance.
+     *
+     * @param limit the maximum number of results
+     * @return the element kinds sorted by total tick time, most expensive first
+     */
+    public @NotNull List<Result> topElements(int limit) {
+        List<Profile> profiles = new ArrayList<>();
+        for (Map<UUID, Profile> perInstance : elements.values()) profiles.addAll(perInstance.values());
+        return top(profiles, limit);
+    }
+
+    /**
+     * Formats the top offenders of the last window.
+     *
+     * @param limit the maximum number of partitions and elements to include
+     * @return the text report
+     */
+    public @NotNull String dump(int limit) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Partitions (last ").append(windowTicks).append(" ticks):\n");
+        for (Result result : topPartitions(limit)) {
+            builder.append("  ").append(result.name()).append(": ").append(result.histogram()).append('\n');
+        }
+        builder.append("Elements (last ").append(windowTicks).append(" ticks):\n");
+        for (Result result : topElements(limit)) {
+            builder.append("  ").append(result.name()).append(": ").append(result.histogram()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @ApiStatus.Internal
+    public void recordPartition(@NotNull Object partition, long nanos) {
+        Profile profile = partitions.get(partition);
+        if (profile == null) {
+            profile = partitions.computeIfAbsent(partition, p -> new Profile(describePartition(p)));
+        }
+        profile.current.record(nanos);
+    }
+
+    @ApiStatus.Internal
+    public void recordElement(@NotNull Tickable element, long nanos) {
+        final Object type;
+        final Instance instance;
+        if (element instanceof Entity entity) {
+            type = entity.getEntityType();
+            instance = entity.getInstance();
+        } else if (element instanceof Chunk chunk) {
+            type = Chunk.class;
+            instance = chunk.getInstance();
+        } else {
+            type = element.getClass();
+            instance = null;
+        }
+        final UUID instanceId = instance != null ? instance.getUniqueId() : NO_INSTANCE;
+        Map<UUID, Profile> perInstance = elements.get(type);
+        if (perInstance == null) {
+            perInstance = elements.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        Profile profile = perInstance.get(instanceId);
+        if (profile == null) {
+            profile = perInstance.computeIfAbsent(instanceId, id -> new Profile(describeElement(type, id)));
+        }
+        profile.current.record(nanos);
+    }
+
+    @ApiStatus.Internal
+    public void removePartition(@NotNull Object partition) {
+        this.partitions.remove(partition);
+    }
+
+    /**
+     * Called once no partition is being ticked, rolls the window when complete.
+     */
+    @ApiStatus.Internal
+    public void endTick() {
+        if (++tickCounter < windowTicks) return;
+        this.tickCounter = 0;
+        // Idle profiles are removed to not retain unloaded partitions and instances
+        partitions.values().removeIf(Profile::roll);
+        elements.values().forEach(perInstance -> perInstance.values().removeIf(Profile::roll));
+    }
+
+    private static List<Result> top(Iterable<Profile> profiles, int limit) {
+        List<Result> results = new ArrayList<>();
+        for (Profile profile : profiles) {
+            // Copy as the window may be rolled while the result is being used
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.add(profile.last);
+            if (histogram.count() == 0) continue;
+            results.add(new Result(profile.name, histogram));
+        }
+        results.sort(Comparator.comparingLong((Result result) -> result.histogram().total()).reversed());
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : List.copyOf(results);
+    }
+
+    private static String describePartition(Object partition) {
+        if (partition instanceof Chunk chunk) {
+            return chunk.getInstance().getUniqueId() + " " + chunk;
+        }
+        return String.valueOf(partition);
+    }
+
+    private static String describeElement(Object type, UUID instanceId) {
+        final String name;
+        if (type instanceof EntityType entityType) {
+            name = entityType.name();
+        } else {
+            name = ((Class<?>) type).getSimpleName();
+        }
+        return instanceId.equals(NO_INSTANCE) ? name : name + " " + instanceId;
+    }
+
+    /**
+     * The durations of a profiled partition or element kind over the last window.
+     *
+     * @param name      the description of the partition or element kind
+     * @param histogram the tick durations
+     */
+    public record Result(@NotNull String name, @NotNull LatencyHistogram histogram) {
+    }
+
+    private static final class Profile {
+        private final String name;
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram last = new LatencyHistogram();
+
+        Profile(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Makes the current window available to reports.
+         *
+         * @return true if nothing has been recorded during the window
+         */
+        boolean roll() {
+            final LatencyHistogram previous = last;
+            previous.reset();
+            this.last = current;
+            this.current = previous;
+            return last.count() == 0;
+        }
+
+    }
+}
@@ -0,0 +1,72 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.FramedPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.zip.Deflater;
+
+/**
+ * Decides how packets above the {@link MinecraftServer#getCompressionThreshold() compression threshold} are compressed.
+ * <p>
+ * Can be set globally with {@link MinecraftServer#setCompressionStrategy(CompressionStrategy)}
+ * or per connection with {@link net.minestom.server.network.player.PlayerSocketConnection#setCompressionStrategy(CompressionStrategy)}.
+ * <p>
+ * {@link CachedPacket} and {@link FramedPacket} are framed once using the global strategy
+ * and then sent as-is to every connection.
+ */
+@FunctionalInterface
+public interface CompressionStrategy {
+    /**
+     * Level sending the packet uncompressed, which is always allowed by the protocol.
+     */
+    int UNCOMPRESSED = -2;
+
+    /**
+     * Uses the zlib default level for every packet.
+     */
+    CompressionStrategy DEFAULT = (packet, packetSize) -> Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Uses the same level for every packet.
+     *
+     * @param level the deflate level, between 0 and 9 or {@link #UNCOMPRESSED}
+     * @return a strategy always using {@code level}
+     */
+    static @NotNull CompressionStrategy level(int level) {
+        checkLevel(level);
+        return (packet, packetSize) -> level;
+    }
+
+    /**
+     * Uses a fast level for large packets (e.g. chunks) and a denser one for the others.
+     *
+     * @param largePacketSize the size in bytes from which a packet is considered large
+     * @param smallLevel      the level of the packets smaller than {@code largePacketSize}
+     * @param largeLevel      the level of the packets larger than {@code largePacketSize}
+     * @return a strategy based on the packet size
+     */
+    static @NotNull CompressionStrategy bySize(int largePacketSize, int smallLevel, int largeLevel) {
+        checkLevel(smallLevel);
+        checkLevel(largeLevel);
+        return (packet, packetSize) -> packetSize >= largePacketSize ? largeLevel : smallLevel;
+    }
+
+    /**
+     * Gets the compression level of a packet.
+     * <p>
+     * Only called for packets whose size is at least the compression threshold. May be called from any thread.
+     *
+     * @param packet     the packet being written
+     * @param packetSize the uncompressed size of the packet (id + payload)
+     * @return the deflate level between 0 and 9, {@link Deflater#DEFAULT_COMPRESSION} or {@link #UNCOMPRESSED}
+     */
+    int compressionLevel(@NotNull NetworkBuffer.Writer packet, int packetSize);
+
+    private static void checkLevel(int level) {
+        if (level != UNCOMPRESSED && (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+    }
+}
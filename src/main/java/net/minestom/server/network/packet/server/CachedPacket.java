@@ -1,5 +1,6 @@
 package net.minestom.server.network.packet.server;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.utils.PacketUtils;
 import org.jetbrains.annotations.ApiStatus;
@@ -14,13 +15,17 @@ import java.util.function.Supplier;
  * Represents a packet that is only computed when required (either due to memory demand or invalidated data)
  * <p>
  * The cache is stored in a {@link SoftReference} and is invalidated when {@link #invalidate()} is called.
+ * The framed packet is shared by all the connections having the same state and compression,
+ * and is only computed once even when requested concurrently.
  * <p>
  * Packet supplier must be thread-safe.
  */
 @ApiStatus.Internal
 public final class CachedPacket implements SendablePacket {
     private final Supplier<ServerPacket> packetSupplier;
-    private volatile SoftReference<FramedPacket> packet;
+    private volatile SoftReference<Cache> packet;
+    // Incremented on invalidation, a lost concurrent increment still changes the value
+    private volatile int version;
 
     public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier) {
         this.packetSupplier = packetSupplier;
@@ -32,31 +37,70 @@ public final class CachedPacket implements SendablePacket {
 
     public void invalidate() {
         this.packet = null;
+        this.version++;
+    }
+
+    /**
+     * Gets a number changing each time the packet is invalidated.
+     * <p>
+     * Lets the owner detect that its content changed since a given point.
+     *
+     * @return the current version
+     */
+    public int version() {
+        return version;
     }
 
     public @NotNull ServerPacket packet(@NotNull ConnectionState state) {
-        FramedPacket cache = updatedCache(state);
+        FramedPacket cache = updatedCache(state, MinecraftServer.getCompressionThreshold() > 0);
         return cache != null ? cache.packet() : packetSupplier.get();
     }
 
     public @Nullable ByteBuffer body(@NotNull ConnectionState state) {
-        FramedPacket cache = updatedCache(state);
+        return body(state, MinecraftServer.getCompressionThreshold() > 0);
+    }
+
+    /**
+     * Gets the framed packet for a connection.
+     *
+     * @param state      the connection state
+     * @param compressed true if the connection has compression enabled
+     * @return the framed packet, null if caching is disabled
+     */
+    public @Nullable ByteBuffer body(@NotNull ConnectionState state, boolean compressed) {
+        FramedPacket cache = updatedCache(state, compressed);
         return cache != null ? cache.body() : null;
     }
 
-    private @Nullable FramedPacket updatedCache(@NotNull ConnectionState state) {
+    private @Nullable FramedPacket updatedCache(@NotNull ConnectionState state, boolean compressed) {
         if (!PacketUtils.CACHED_PACKET)
             return null;
-        SoftReference<FramedPacket> ref = packet;
-        FramedPacket cache;
-        if (ref == null || (cache = ref.get()) == null) {
-            cache = PacketUtils.allocateTrimmedPacket(state, packetSupplier.get());
-            this.packet = new SoftReference<>(cache);
+        Cache cache = validCache(state, compressed);
+        if (cache == null) {
+            synchronized (this) {
+                // Another thread may have framed the packet meanwhile
+                cache = validCache(state, compressed);
+                if (cache == null) {
+                    final FramedPacket framedPacket = PacketUtils.allocateTrimmedPacket(state, packetSupplier.get(), compressed);
+                    cache = new Cache(state, compressed, framedPacket);
+                    this.packet = new SoftReference<>(cache);
+                }
+            }
         }
-        return cache;
+        return cache.packet();
+    }
+
+    private @Nullable Cache validCache(@NotNull ConnectionState state, boolean compressed) {
+        final SoftReference<Cache> ref = packet;
+        final Cache cache;
+        if (ref == null || (cache = ref.get()) == null) return null;
+        return cache.state() == state && cache.compressed() == compressed ? cache : null;
     }
 
     public boolean isValid() {
         return packet != null && packet.get() != null;
     }
+
+    private record Cache(ConnectionState state, boolean compressed, FramedPacket packet) {
+    }
 }
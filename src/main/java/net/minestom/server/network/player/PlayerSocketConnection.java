@@ -7,6 +7,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.player.PlayerPacketOutEvent;
 import net.minestom.server.extras.mojangAuth.MojangCrypt;
+import net.minestom.server.network.CompressionStrategy;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.client.ClientPacket;
@@ -55,6 +56,7 @@ public class PlayerSocketConnection extends PlayerConnection {
     private SocketAddress remoteAddress;
 
     private volatile boolean compressed = false;
+    private volatile CompressionStrategy compressionStrategy;
 
     //Could be null. Only used for Mojang Auth
     private volatile EncryptionContext encryptionContext;
@@ -156,6 +158,28 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.compressed = true;
     }
 
+    /**
+     * Gets the strategy used to compress the packets written to this connection.
+     *
+     * @return the connection compression strategy, or the global one if not set
+     */
+    public @NotNull CompressionStrategy getCompressionStrategy() {
+        final CompressionStrategy strategy = this.compressionStrategy;
+        return strategy != null ? strategy : MinecraftServer.getCompressionStrategy();
+    }
+
+    /**
+     * Changes the strategy used to compress the packets written to this connection.
+     * <p>
+     * Packets shared between connections ({@link CachedPacket}, {@link FramedPacket}) are already compressed
+     * and are therefore not affected.
+     *
+     * @param compressionStrategy the new strategy, null to use {@link MinecraftServer#getCompressionStrategy()}
+     */
+    public void setCompressionStrategy(@Nullable CompressionStrategy compressionStrategy) {
+        this.compressionStrategy = compressionStrategy;
+    }
+
     @Override
     public void sendPacket(@NotNull SendablePacket packet) {
         final boolean compressed = this.compressed;
@@ -357,7 +381,8 @@ public class PlayerSocketConnection extends PlayerConnection {
             var buffer = framedPacket.body();
             writeBuffer(buffer, 0, buffer.limit(), immediate);
         } else if (packet instanceof CachedPacket cachedPacket) {
-            var buffer = cachedPacket.body(getConnectionState());
+            // Framed once and shared with every connection in the same state and compression
+            var buffer = cachedPacket.body(getConnectionState(), compressed);
             if (buffer != null) writeBuffer(buffer, buffer.position(), buffer.remaining(), immediate);
             else writeServerPacket(cachedPacket.packet(getConnectionState()), compressed, immediate);
         } else if (packet instanceof LazyPacket lazyPacket) {
@@ -376,7 +401,7 @@ public class PlayerSocketConnection extends PlayerConnection {
             }
         }
         try (var hold = ObjectPool.PACKET_POOL.hold()) {
-            var buffer = PacketUtils.createFramedPacket(getConnectionState(), hold.get(), serverPacket, compressed);
+            var buffer = PacketUtils.createFramedPacket(getConnectionState(), hold.get(), serverPacket, compressed, getCompressionStrategy());
             writeBuffer(buffer, 0, buffer.limit(), immediate);
         }
     }
@@ -19,6 +19,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -27,6 +28,10 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
+/**
+ * Snapshot equality ignores the referenced snapshots, which are compared by the {@link SnapshotSession} updater.
+ * Tag copies and shared content are compared by identity, they are cached until modified.
+ */
 @ApiStatus.Internal
 public final class SnapshotImpl {
     public record Server(Collection<InstanceSnapshot> instances,
@@ -41,6 +46,18 @@ public final class SnapshotImpl {
             var ref = entityRefs.get(id);
             return ref != null ? ref.getPlain() : null;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Server that)) return false;
+            return instances.size() == that.instances.size() && entityRefs.keySet().equals(that.entityRefs.keySet());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(instances.size(), entityRefs.keySet());
+        }
     }
 
     public record Instance(AtomicReference<ServerSnapshot> serverRef,
@@ -69,6 +86,20 @@ public final class SnapshotImpl {
             return serverRef.getPlain();
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Instance that)) return false;
+            return worldAge == that.worldAge && time == that.time && dimensionType.equals(that.dimensionType) &&
+                    tagReadable == that.tagReadable && Arrays.equals(entitiesIds, that.entitiesIds) &&
+                    chunksMap.keySet().equals(that.chunksMap.keySet());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimensionType, worldAge, time, chunksMap.size(), Arrays.hashCode(entitiesIds));
+        }
+
         @Override
         public <T> @UnknownNullability T getTag(@NotNull Tag<T> tag) {
             return tagReadable.getTag(tag);
@@ -98,6 +129,20 @@ public final class SnapshotImpl {
             return Objects.requireNonNullElse(Block.fromStateId((short) blockStateId), Block.AIR);
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chunk that)) return false;
+            return minSection == that.minSection && chunkX == that.chunkX && chunkZ == that.chunkZ &&
+                    sections == that.sections && tagReadable == that.tagReadable &&
+                    blockEntries.equals(that.blockEntries) && Arrays.equals(entitiesIds, that.entitiesIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(chunkX, chunkZ, blockEntries.size(), Arrays.hashCode(entitiesIds));
+        }
+
         @Override
         public @NotNull Biome getBiome(int x, int y, int z) {
             final Section section = sections[getChunkCoordinate(y) - minSection];
@@ -131,6 +176,22 @@ public final class SnapshotImpl {
             return tagReadable.getTag(tag);
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entity that)) return false;
+            return id == that.id && chunkX == that.chunkX && chunkZ == that.chunkZ && vehicleId == that.vehicleId &&
+                    type == that.type && uuid.equals(that.uuid) &&
+                    position.equals(that.position) && velocity.equals(that.velocity) &&
+                    tagReadable == that.tagReadable &&
+                    Arrays.equals(viewersId, that.viewersId) && Arrays.equals(passengersId, that.passengersId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uuid, position, velocity);
+        }
+
         @Override
         public @NotNull InstanceSnapshot instance() {
             return instanceRef.getPlain();
@@ -0,0 +1,56 @@
+package net.minestom.server.snapshot;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds successive snapshots of the same object, each update being a new generation.
+ * <p>
+ * Each generation is a point-in-time view, navigating from a snapshot never leads to another generation.
+ * The snapshot of an object is reused when it did not change since the previous generation,
+ * and neither did the snapshots it references. Otherwise, the new snapshot can still share
+ * the content of the previous one, see {@link SnapshotUpdater#previous(Snapshotable)}.
+ * <p>
+ * Updates must be called during a safe-point (when the server state is stable).
+ *
+ * @param <T> the root snapshot type
+ */
+@ApiStatus.Experimental
+public sealed interface SnapshotSession<T extends Snapshot> permits SnapshotSessionImpl {
+    static <T extends Snapshot> @NotNull SnapshotSession<T> of(@NotNull Snapshotable snapshotable) {
+        return new SnapshotSessionImpl<>(snapshotable);
+    }
+
+    /**
+     * Creates a new generation.
+     *
+     * @return the updated root snapshot
+     */
+    @NotNull T update();
+
+    /**
+     * Gets the changes of the last {@link #update()}.
+     *
+     * @return the last delta, empty before the first update
+     */
+    @NotNull Delta delta();
+
+    /**
+     * Changes between two generations.
+     *
+     * @param generation the generation number, starting at 1
+     * @param updated    the snapshots built during this generation
+     * @param removed    the last snapshots of the objects no longer referenced
+     */
+    record Delta(long generation,
+                 @NotNull Collection<@NotNull Snapshot> updated,
+                 @NotNull Collection<@NotNull Snapshot> removed) {
+        public Delta {
+            updated = List.copyOf(updated);
+            removed = List.copyOf(removed);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.minestom.server.snapshot;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+final class SnapshotSessionImpl<T extends Snapshot> implements SnapshotSession<T> {
+    private final Snapshotable snapshotable;
+    private Map<Snapshotable, SnapshotUpdaterImpl.Entry> entries = Map.of();
+    private Delta delta = new Delta(0, List.of(), List.of());
+
+    SnapshotSessionImpl(@NotNull Snapshotable snapshotable) {
+        this.snapshotable = snapshotable;
+    }
+
+    @Override
+    public synchronized @NotNull T update() {
+        var updater = new SnapshotUpdaterImpl(entries);
+        var ref = updater.reference(snapshotable);
+        updater.update();
+        this.entries = updater.entries();
+        this.delta = new Delta(delta.generation() + 1, updater.updated(), updater.removed());
+        return (T) ref.get();
+    }
+
+    @Override
+    public synchronized @NotNull Delta delta() {
+        return delta;
+    }
+}
@@ -5,6 +5,7 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
@@ -38,6 +39,19 @@ public sealed interface SnapshotUpdater permits SnapshotUpdaterImpl {
 
     <T extends Snapshot> @NotNull AtomicReference<T> reference(@NotNull Snapshotable snapshotable);
 
+    /**
+     * Gets the snapshot built for {@code snapshotable} by the previous generation of a {@link SnapshotSession}.
+     * <p>
+     * Its immutable content can be shared with the new snapshot when the state did not change, but the previous
+     * snapshot itself must not be returned as its references belong to the previous generation.
+     * New snapshots equal to the previous one are replaced by it when the snapshots they reference did not change either.
+     *
+     * @param snapshotable the snapshot container
+     * @param <T>          the snapshot type
+     * @return the previous snapshot, null if none
+     */
+    <T extends Snapshot> @Nullable T previous(@NotNull Snapshotable snapshotable);
+
     @Contract("!null -> !null")
     default <T extends Snapshot> AtomicReference<T> optionalReference(Snapshotable snapshotable) {
         return snapshotable != null ? reference(snapshotable) : null;
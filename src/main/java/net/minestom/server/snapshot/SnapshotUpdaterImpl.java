@@ -1,16 +1,29 @@
-
-
 package net.minestom.server.snapshot;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 
 final class SnapshotUpdaterImpl implements SnapshotUpdater {
-    private final IdentityHashMap<Snapshotable, AtomicReference<Snapshot>> referenceMap = new IdentityHashMap<>();
-    private IdentityHashMap<Snapshotable, AtomicReference<Snapshot>> readOnlyReferenceMap;
+    // Entry being updated by the current thread, to record its references
+    private static final ThreadLocal<Entry> CURRENT = new ThreadLocal<>();
+
+    private final IdentityHashMap<Snapshotable, Entry> referenceMap = new IdentityHashMap<>();
+    private IdentityHashMap<Snapshotable, Entry> readOnlyReferenceMap;
     private List<Entry> queue = new ArrayList<>();
+    // Entries of the previous generation, empty if not incremental
+    private final Map<Snapshotable, Entry> previousEntries;
+    private final List<Snapshot> updated = new ArrayList<>();
+
+    SnapshotUpdaterImpl(@NotNull Map<Snapshotable, Entry> previousEntries) {
+        this.previousEntries = previousEntries;
+    }
+
+    SnapshotUpdaterImpl() {
+        this(Map.of());
+    }
 
     static <T extends Snapshot> @NotNull T update(@NotNull Snapshotable snapshotable) {
         var updater = new SnapshotUpdaterImpl();
@@ -21,34 +34,144 @@ final class SnapshotUpdaterImpl implements SnapshotUpdater {
 
     @Override
     public <T extends Snapshot> @NotNull AtomicReference<T> reference(@NotNull Snapshotable snapshotable) {
-        AtomicReference<Snapshot> ref;
+        Entry entry;
         // Very often the same snapshotable is referenced multiple times.
         var readOnly = this.readOnlyReferenceMap;
-        if (readOnly != null && (ref = readOnly.get(snapshotable)) != null) {
-            return (AtomicReference<T>) ref;
-        }
-        // If this is a new snapshotable, we need to create a new reference.
-        synchronized (this) {
-            ref = new AtomicReference<>();
-            var prev = referenceMap.putIfAbsent(snapshotable, ref);
-            if (prev != null) return (AtomicReference<T>) prev;
-            this.queue.add(new Entry(snapshotable, ref));
-            return (AtomicReference<T>) ref;
+        if (readOnly == null || (entry = readOnly.get(snapshotable)) == null) {
+            // If this is a new snapshotable, we need to create a new reference.
+            synchronized (this) {
+                entry = referenceMap.get(snapshotable);
+                if (entry == null) {
+                    entry = new Entry(snapshotable, previousEntries.get(snapshotable));
+                    this.referenceMap.put(snapshotable, entry);
+                    this.queue.add(entry);
+                }
+            }
         }
+        final Entry current = CURRENT.get();
+        if (current != null) current.dependencies.add(snapshotable);
+        return (AtomicReference<T>) entry.ref;
     }
 
-    record Entry(Snapshotable snapshotable, AtomicReference<Snapshot> ref) {
+    @Override
+    public <T extends Snapshot> @Nullable T previous(@NotNull Snapshotable snapshotable) {
+        final Entry previous = previousEntries.get(snapshotable);
+        return previous != null ? (T) previous.ref.getPlain() : null;
+    }
+
+    static final class Entry {
+        private final Snapshotable snapshotable;
+        // Each generation has its own references, snapshots of older generations must not change
+        private final AtomicReference<Snapshot> ref = new AtomicReference<>();
+        private Snapshot previousSnapshot;
+        private List<Snapshotable> previousDependencies;
+        // Snapshotables referenced by the snapshot
+        private final List<Snapshotable> dependencies = new ArrayList<>();
+        private Snapshot snapshot;
+        // Whether the previous snapshot can be kept
+        private boolean reused;
+
+        Entry(Snapshotable snapshotable, @Nullable Entry previous) {
+            this.snapshotable = snapshotable;
+            if (previous != null) {
+                this.previousSnapshot = previous.ref.getPlain();
+                this.previousDependencies = previous.dependencies;
+            } else {
+                this.previousSnapshot = null;
+                this.previousDependencies = List.of();
+            }
+        }
     }
 
     void update() {
         List<Entry> temp;
         while (!(temp = new ArrayList<>(queue)).isEmpty()) {
             queue = new ArrayList<>();
-            readOnlyReferenceMap = (IdentityHashMap<Snapshotable, AtomicReference<Snapshot>>) referenceMap.clone();
-            temp.parallelStream().forEach(entry -> {
-                Snapshotable snap = entry.snapshotable;
-                entry.ref.set(Objects.requireNonNull(snap.updateSnapshot(this), "Snapshot must not be null after an update!"));
-            });
+            readOnlyReferenceMap = (IdentityHashMap<Snapshotable, Entry>) referenceMap.clone();
+            temp.parallelStream().forEach(this::update);
+        }
+        resolve();
+    }
+
+    private void update(Entry entry) {
+        final Snapshot previous = entry.previousSnapshot;
+        Snapshot snapshot;
+        CURRENT.set(entry);
+        try {
+            snapshot = Objects.requireNonNull(entry.snapshotable.updateSnapshot(this), "Snapshot must not be null after an update!");
+        } finally {
+            CURRENT.remove();
+        }
+        if (previous != null) {
+            if (snapshot == previous) {
+                throw new IllegalStateException("The previous snapshot cannot be returned, its references belong to the previous generation");
+            }
+            // Same value, the previous instance is kept if the snapshots it references are kept as well
+            entry.reused = snapshot.equals(previous) && entry.dependencies.equals(entry.previousDependencies);
+        }
+        entry.snapshot = snapshot;
+    }
+
+    /**
+     * Decides which previous snapshots are kept, and sets the references of this generation.
+     * <p>
+     * A previous snapshot references the snapshots of the previous generation,
+     * it can only be kept if all of them are kept as well.
+     */
+    private void resolve() {
+        final Collection<Entry> entries = referenceMap.values();
+        // Snapshotable -> entries referencing it, only for the entries which may be reused
+        IdentityHashMap<Snapshotable, List<Entry>> dependents = new IdentityHashMap<>();
+        ArrayDeque<Entry> rebuilt = new ArrayDeque<>();
+        for (Entry entry : entries) {
+            if (!entry.reused) {
+                rebuilt.add(entry);
+                continue;
+            }
+            for (Snapshotable dependency : entry.dependencies) {
+                dependents.computeIfAbsent(dependency, s -> new ArrayList<>()).add(entry);
+            }
+        }
+        Entry entry;
+        while ((entry = rebuilt.poll()) != null) {
+            final List<Entry> entryDependents = dependents.remove(entry.snapshotable);
+            if (entryDependents == null) continue;
+            for (Entry dependent : entryDependents) {
+                if (!dependent.reused) continue;
+                dependent.reused = false;
+                rebuilt.add(dependent);
+            }
+        }
+        for (Entry e : entries) {
+            final Snapshot snapshot = e.reused ? e.previousSnapshot : e.snapshot;
+            if (!e.reused) this.updated.add(snapshot);
+            e.ref.set(snapshot);
+            // Only the final snapshot is needed by the next generation
+            e.snapshot = null;
+            e.previousSnapshot = null;
+            e.previousDependencies = null;
+        }
+    }
+
+    /**
+     * Gets the entries of this generation, to be passed to the next updater.
+     */
+    @NotNull Map<Snapshotable, Entry> entries() {
+        return Collections.unmodifiableMap(referenceMap);
+    }
+
+    @NotNull Collection<Snapshot> updated() {
+        return List.copyOf(updated);
+    }
+
+    /**
+     * Gets the last snapshots of the previous generation which are no longer referenced.
+     */
+    @NotNull Collection<Snapshot> removed() {
+        List<Snapshot> removed = new ArrayList<>();
+        for (Map.Entry<Snapshotable, Entry> entry : previousEntries.entrySet()) {
+            if (!referenceMap.containsKey(entry.getKey())) removed.add(entry.getValue().ref.getPlain());
         }
+        return removed;
     }
 }
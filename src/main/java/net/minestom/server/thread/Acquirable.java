@@ -5,8 +5,11 @@ import net.minestom.server.utils.async.AsyncUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 @ApiStatus.Experimental
@@ -40,6 +43,18 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
         return AcquirableImpl.WAIT_COUNTER_NANO.getAndSet(0);
     }
 
+    /**
+     * Retrieve and reset acquiring time of each pair of threads.
+     * <p>
+     * Threads which are not {@link TickThread tick threads} are grouped under the name {@code non-tick}.
+     *
+     * @return the waited nanoseconds, by acquiring thread name then acquired thread name
+     */
+    @ApiStatus.Internal
+    static @NotNull Map<String, Map<String, Long>> resetPairAcquiringTimes() {
+        return AcquirableImpl.resetPairWaits();
+    }
+
     /**
      * Creates a new {@link Acquirable} object.
      * <p>
@@ -60,12 +75,17 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
      * <p>
      * Useful when your code cannot be done inside a callback and need to be sync.
      * Do not forget to call {@link Acquired#unlock()} once you are done with it.
+     * <p>
+     * Acquisitions can be nested, but the outer elements are never released while waiting.
+     * A contended nested acquisition of a thread with a lower {@link TickThread#order()} could deadlock with another thread,
+     * it is therefore refused after a short wait. Prefer {@link #submit(Function)} when the elements are not known in advance.
      *
      * @return an acquired object
+     * @throws IllegalStateException if a contended nested acquisition of a lower order has been refused
      * @see #sync(Consumer) for auto-closeable capability
      */
     default @NotNull Acquired<T> lock() {
-        return new Acquired<>(unwrap(), assignedThread());
+        return new Acquired<>(unwrap(), this);
     }
 
     /**
@@ -98,6 +118,7 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
      * Free if the element is already present in the current thread, blocking otherwise.
      *
      * @param consumer the callback to execute once the element has been safely acquired
+     * @throws IllegalStateException if a contended nested acquisition of a lower order has been refused, see {@link #lock()}
      * @see #async(Consumer)
      */
     default void sync(@NotNull Consumer<T> consumer) {
@@ -108,6 +129,10 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
 
     /**
      * Async version of {@link #sync(Consumer)}.
+     * <p>
+     * The element is acquired from another thread holding no acquisition, and is therefore never refused.
+     * Nested acquisitions refused inside {@code consumer} (see {@link #lock()}) are reported to the exception manager
+     * instead of being thrown to the caller.
      *
      * @param consumer the callback to execute once the element has been safely acquired
      * @see #sync(Consumer)
@@ -117,6 +142,34 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
         AsyncUtils.runAsync(() -> sync(consumer));
     }
 
+    /**
+     * Queues {@code function} in the mailbox of the element, to be executed by its {@link TickThread}
+     * at the start of the next tick, before any partition is ticked.
+     * <p>
+     * Unlike {@link #sync(Consumer)}, the caller never waits for the element thread.
+     * Messages submitted to the same element are executed in submission order, even if the element changes thread.
+     * Executed immediately in the calling thread if the element is not ticked yet.
+     *
+     * @param function the callback to execute once the element is safe to use
+     * @param <R>      the result type
+     * @return a future completed with the result of {@code function}, or exceptionally if it threw
+     * @see #post(Consumer)
+     */
+    <R> @NotNull CompletableFuture<R> submit(@NotNull Function<T, R> function);
+
+    /**
+     * Consumer version of {@link #submit(Function)}.
+     *
+     * @param consumer the callback to execute once the element is safe to use
+     * @return a future completed once {@code consumer} has been executed
+     */
+    default @NotNull CompletableFuture<Void> post(@NotNull Consumer<T> consumer) {
+        return submit(value -> {
+            consumer.accept(value);
+            return null;
+        });
+    }
+
     /**
      * Unwrap the contained object unsafely.
      * <p>
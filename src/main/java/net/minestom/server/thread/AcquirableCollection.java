@@ -24,13 +24,21 @@ public class AcquirableCollection<E> implements Collection<Acquirable<E>> {
         {
             for (var entry : threadEntitiesMap.entrySet()) {
                 final TickThread tickThread = entry.getKey();
-                final List<E> values = entry.getValue();
+                final List<Acquirable<E>> values = entry.getValue();
 
+                List<Acquirable<E>> moved = null;
                 var lock = AcquirableImpl.enter(currentThread, tickThread);
-                for (E value : values) {
-                    consumer.accept(value);
+                for (Acquirable<E> value : values) {
+                    // The element may have been stolen by another thread while waiting
+                    if (value.assignedThread() == tickThread) {
+                        consumer.accept(value.unwrap());
+                    } else {
+                        if (moved == null) moved = new ArrayList<>();
+                        moved.add(value);
+                    }
                 }
                 AcquirableImpl.leave(lock);
+                if (moved != null) moved.forEach(value -> value.sync(consumer));
             }
         }
     }
@@ -119,13 +127,13 @@ public class AcquirableCollection<E> implements Collection<Acquirable<E>> {
      * @param consumer      the consumer to execute when an element is already in the current thread
      * @return a new Thread to acquirable elements map
      */
-    protected static <T> Map<TickThread, List<T>> retrieveOptionalThreadMap(@NotNull Collection<Acquirable<T>> collection,
-                                                                            @NotNull Thread currentThread,
-                                                                            @NotNull Consumer<T> consumer) {
+    protected static <T> Map<TickThread, List<Acquirable<T>>> retrieveOptionalThreadMap(@NotNull Collection<Acquirable<T>> collection,
+                                                                                        @NotNull Thread currentThread,
+                                                                                        @NotNull Consumer<T> consumer) {
         // Separate a collection of acquirable elements into a map of thread->elements
         // Useful to reduce the number of acquisition
 
-        Map<TickThread, List<T>> threadCacheMap = new HashMap<>();
+        Map<TickThread, List<Acquirable<T>>> threadCacheMap = new HashMap<>();
         for (var element : collection) {
             final T value = element.unwrap();
 
@@ -135,8 +143,8 @@ public class AcquirableCollection<E> implements Collection<Acquirable<E>> {
                 consumer.accept(value);
             } else {
                 // The element is manager in a different thread, cache it
-                List<T> threadCacheList = threadCacheMap.computeIfAbsent(elementThread, tickThread -> new ArrayList<>());
-                threadCacheList.add(value);
+                List<Acquirable<T>> threadCacheList = threadCacheMap.computeIfAbsent(elementThread, tickThread -> new ArrayList<>());
+                threadCacheList.add(element);
             }
         }
 
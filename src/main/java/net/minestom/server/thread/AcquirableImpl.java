@@ -1,23 +1,59 @@
 package net.minestom.server.thread;
 
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
+/**
+ * Acquisitions lock the {@link TickThread} of the element.
+ * <p>
+ * To prevent deadlocks, every thread takes the tick locks by increasing {@link TickThread#order()}.
+ * Only the lock of the current tick thread can be released while waiting for a lower one. Nested acquisitions
+ * of a lower order succeed when the lock is free, but as the outer elements must stay locked, they only wait
+ * a bounded time when contended before being refused. Acquisitions between different threads do not contend.
+ * <p>
+ * Submitted messages are queued in the element mailbox, which is itself queued at most once in its thread mailbox.
+ * Only the thread which queued the mailbox drains it, messages are therefore executed in submission order
+ * even when the element moves to another thread in the meantime.
+ */
 final class AcquirableImpl<T> implements Acquirable<T> {
     static final AtomicLong WAIT_COUNTER_NANO = new AtomicLong();
+    // Name used for all the acquiring threads which are not tick threads
+    static final String NON_TICK_THREAD = "non-tick";
+    // Maximum wait of a contended nested acquisition of a lower order, before refusing it
+    private static final long NESTED_WAIT_MS = Long.getLong("minestom.acquirable.nested-wait-ms", 50);
+    // Acquired thread name -> acquiring thread name -> waited nanoseconds
+    // Bounded since tick thread names are reused by every dispatcher
+    private static final Map<String, Map<String, LongAdder>> PAIR_WAIT_COUNTERS = new ConcurrentHashMap<>();
 
     /**
-     * Global lock used for synchronization.
+     * Tick threads acquired by the current thread, sorted by order.
      */
-    private static final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
+    private static final ThreadLocal<List<TickThread>> ACQUIRED = ThreadLocal.withInitial(ArrayList::new);
 
     private final T value;
     private TickThread assignedThread;
 
+    // Created on the first submission, most elements never receive messages
+    private volatile MessagePassingQueue<Runnable> messages;
+    // Whether the mailbox is queued in a thread mailbox or being drained
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
     public AcquirableImpl(@NotNull T value) {
         this.value = value;
     }
@@ -38,37 +74,160 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         VarHandle.releaseFence();
     }
 
+    @Override
+    public <R> @NotNull CompletableFuture<R> submit(@NotNull Function<T, R> function) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        messages().offer(() -> {
+            try {
+                future.complete(function.apply(value));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        if (scheduled.compareAndSet(false, true)) schedule();
+        return future;
+    }
+
+    /**
+     * Executes the pending messages, called by the thread in which mailbox this element was queued.
+     *
+     * @param thread the thread draining its mailbox, null if the element is not ticked
+     */
+    void drainMessages(@Nullable TickThread thread) {
+        final TickThread assignedThread = assignedThread();
+        if (assignedThread != thread) {
+            // Moved since it was queued
+            assignedThread.offerMailbox(this);
+            return;
+        }
+        final MessagePassingQueue<Runnable> messages = this.messages;
+        // Messages submitted while draining wait for the next drain
+        messages.drain(Runnable::run, messages.size());
+        this.scheduled.set(false);
+        if (!messages.isEmpty() && scheduled.compareAndSet(false, true)) schedule();
+    }
+
+    private void schedule() {
+        final TickThread thread = assignedThread();
+        if (thread != null) {
+            thread.offerMailbox(this);
+        } else {
+            // Not ticked, the caller is the only one able to execute the messages
+            drainMessages(null);
+        }
+    }
+
+    private MessagePassingQueue<Runnable> messages() {
+        MessagePassingQueue<Runnable> messages = this.messages;
+        if (messages == null) {
+            synchronized (this) {
+                messages = this.messages;
+                if (messages == null) this.messages = messages = new MpscUnboundedArrayQueue<>(16);
+            }
+        }
+        return messages;
+    }
+
+    static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @NotNull Acquirable<?> acquirable) {
+        while (true) {
+            final TickThread elementThread = acquirable.assignedThread();
+            final ReentrantLock lock = enter(currentThread, elementThread);
+            // Stolen partitions are reassigned under the lock of their owner, check that it did not happen while waiting
+            if (acquirable.assignedThread() == elementThread) return lock;
+            leave(lock);
+        }
+    }
+
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
-        final ReentrantLock currentLock = currentThread instanceof TickThread ? ((TickThread) currentThread).lock() : null;
         final ReentrantLock targetLock = elementThread.lock();
         if (targetLock.isHeldByCurrentThread()) return null;
 
+        final List<TickThread> acquired = ACQUIRED.get();
+        final int order = elementThread.order();
+
         // Monitoring
         final long time = System.nanoTime();
 
-        // Enter the target thread
-        // TODO reduce global lock scope
-        if (currentLock != null) {
-            while (!GLOBAL_LOCK.tryLock()) {
-                currentLock.unlock();
-                currentLock.lock();
+        if (!targetLock.tryLock()) {
+            final TickThread outer = acquired.isEmpty() ? null : acquired.get(acquired.size() - 1);
+            if (outer != null && outer.order() > order) {
+                // Waiting indefinitely could deadlock, the outer acquisition cannot be released
+                lockNested(targetLock, elementThread, outer);
+            } else {
+                final TickThread currentTickThread = currentThread instanceof TickThread tickThread
+                        && tickThread.lock().isHeldByCurrentThread() ? tickThread : null;
+                if (currentTickThread != null && currentTickThread.order() > order) {
+                    // Let the other threads acquire the current one while waiting
+                    final ReentrantLock currentLock = currentTickThread.lock();
+                    final int holdCount = unlockFully(currentLock);
+                    targetLock.lock();
+                    lock(currentLock, holdCount);
+                } else {
+                    targetLock.lock();
+                }
             }
-        } else {
-            GLOBAL_LOCK.lock();
         }
-        targetLock.lock();
+        acquired.add(elementThread);
 
         // Monitoring
-        WAIT_COUNTER_NANO.addAndGet(System.nanoTime() - time);
+        final long waited = System.nanoTime() - time;
+        WAIT_COUNTER_NANO.addAndGet(waited);
+        final String acquiringName = currentThread instanceof TickThread ? currentThread.getName() : NON_TICK_THREAD;
+        elementThread.waitCounters().computeIfAbsent(acquiringName, name -> new LongAdder()).add(waited);
         return targetLock;
     }
 
     static void leave(@Nullable ReentrantLock lock) {
         if (lock != null) {
+            final List<TickThread> acquired = ACQUIRED.get();
+            for (int i = 0; i < acquired.size(); i++) {
+                if (acquired.get(i).lock() == lock) {
+                    acquired.remove(i);
+                    break;
+                }
+            }
             lock.unlock();
-            GLOBAL_LOCK.unlock();
         }
     }
+
+    static @NotNull Map<String, LongAdder> pairWaitCounters(@NotNull TickThread thread) {
+        return PAIR_WAIT_COUNTERS.computeIfAbsent(thread.getName(), name -> new ConcurrentHashMap<>());
+    }
+
+    static @NotNull Map<String, Map<String, Long>> resetPairWaits() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        PAIR_WAIT_COUNTERS.forEach((tickThread, counters) -> counters.forEach((thread, counter) -> {
+            final long waited = counter.sumThenReset();
+            if (waited == 0) return;
+            result.computeIfAbsent(thread, name -> new HashMap<>()).put(tickThread, waited);
+        }));
+        return result;
+    }
+
+    private static void lockNested(ReentrantLock lock, TickThread elementThread, TickThread outer) {
+        boolean locked;
+        try {
+            locked = lock.tryLock(NESTED_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            throw new IllegalStateException("Nested acquisition of " + elementThread.getName() +
+                    " while holding " + outer.getName() + " timed out, tick threads must be acquired by increasing order" +
+                    " when contended, see Acquirable#submit");
+        }
+    }
+
+    private static int unlockFully(ReentrantLock lock) {
+        final int holdCount = lock.getHoldCount();
+        for (int i = 0; i < holdCount; i++) lock.unlock();
+        return holdCount;
+    }
+
+    private static void lock(ReentrantLock lock, int holdCount) {
+        for (int i = 0; i < holdCount; i++) lock.lock();
+    }
 }
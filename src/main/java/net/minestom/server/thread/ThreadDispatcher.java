@@ -2,6 +2,8 @@ package net.minestom.server.thread;
 
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
@@ -16,8 +18,16 @@ import java.util.concurrent.CountDownLatch;
  * Then executed into a thread pool.
  */
 public final class ThreadDispatcher<P> {
+    // Minimum imbalance between the most and least loaded threads before moving partitions
+    private static final long BALANCE_MIN_GAP_NANOS = 500_000;
+    private static final double BALANCE_MIN_GAP_RATIO = 0.1;
+    // Number of ticks a moved partition stays on its new thread
+    private static final int BALANCE_MOVE_COOLDOWN = 100;
+    private static final int BALANCE_MAX_MOVES = 16;
+
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
+    private final boolean workStealing;
 
     // Partition -> dispatching context
     // Defines how computation is dispatched to the threads
@@ -30,16 +40,38 @@ public final class ThreadDispatcher<P> {
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
 
-    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount) {
+    private final TickProfiler profiler = new TickProfiler();
+
+    private long tickCounter;
+    private final long[] threadLoads;
+
+    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount, boolean workStealing) {
         this.provider = provider;
+        this.workStealing = workStealing;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
+        this.threadLoads = new long[threadCount];
         this.threads.forEach(Thread::start);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, int threadCount) {
-        return new ThreadDispatcher<>(provider, threadCount);
+        return new ThreadDispatcher<>(provider, threadCount, false);
+    }
+
+    /**
+     * Creates a dispatcher where idle threads tick the partitions left by the slower ones.
+     * <p>
+     * Each thread still starts with the partitions given by the {@link ThreadProvider},
+     * stolen partitions only temporarily move to the thief for the remainder of the tick.
+     *
+     * @param provider    the provider used to find the owner thread of each partition
+     * @param threadCount the number of tick threads
+     * @return a new work stealing dispatcher
+     */
+    @ApiStatus.Experimental
+    public static <P> @NotNull ThreadDispatcher<P> workStealing(@NotNull ThreadProvider<P> provider, int threadCount) {
+        return new ThreadDispatcher<>(provider, threadCount, true);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> singleThread() {
@@ -51,6 +83,15 @@ public final class ThreadDispatcher<P> {
         return threads;
     }
 
+    /**
+     * Gets the profiler attributing tick time to partitions and elements, disabled by default.
+     *
+     * @return the tick profiler
+     */
+    public @NotNull TickProfiler profiler() {
+        return profiler;
+    }
+
     /**
      * Prepares the update by creating the {@link TickThread} tasks.
      *
@@ -72,13 +113,21 @@ public final class ThreadDispatcher<P> {
             }
         });
         // Tick all partitions
+        this.tickCounter++;
+        final TickProfiler profiler = this.profiler.isEnabled() ? this.profiler : null;
         CountDownLatch latch = new CountDownLatch(threads.size());
-        for (TickThread thread : threads) thread.startTick(latch, time);
+        if (workStealing) {
+            for (TickThread thread : threads) thread.prepareStealing();
+            for (TickThread thread : threads) thread.startStealingTick(latch, time, profiler, threads);
+        } else {
+            for (TickThread thread : threads) thread.startTick(latch, time, profiler);
+        }
         try {
             latch.await();
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
+        if (profiler != null) profiler.endTick();
     }
 
     /**
@@ -101,19 +150,62 @@ public final class ThreadDispatcher<P> {
                     // Update chunk's thread
                     Partition partitionEntry = partitions.get(partition);
                     assert partitionEntry != null;
-                    final TickThread previous = partitionEntry.thread;
-                    final TickThread next = retrieveThread(partition);
-                    if (next != previous) {
-                        partitionEntry.thread = next;
-                        previous.entries().remove(partitionEntry);
-                        next.entries().add(partitionEntry);
-                    }
+                    movePartition(partitionEntry, retrieveThread(partition));
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
                         break;
                     }
                 }
             }
+            case BALANCED -> balanceThreads(nanoTimeout);
+        }
+    }
+
+    /**
+     * Moves partitions from the most loaded thread to the least loaded one until the gap between them
+     * is small enough, minimizing the maximum load.
+     * <p>
+     * Recently moved partitions are left alone so that they do not flap between threads.
+     */
+    private void balanceThreads(long nanoTimeout) {
+        final int size = threads.size();
+        if (size < 2) return;
+        final long currentTime = System.nanoTime();
+        final long[] loads = this.threadLoads;
+        for (int i = 0; i < size; i++) {
+            long load = 0;
+            for (Partition entry : threads.get(i).entries()) load += entry.cost;
+            loads[i] = load;
+        }
+        for (int move = 0; move < BALANCE_MAX_MOVES; move++) {
+            int max = 0, min = 0;
+            for (int i = 1; i < size; i++) {
+                if (loads[i] > loads[max]) max = i;
+                if (loads[i] < loads[min]) min = i;
+            }
+            final long gap = loads[max] - loads[min];
+            if (gap < BALANCE_MIN_GAP_NANOS || gap < loads[max] * BALANCE_MIN_GAP_RATIO) break;
+            // Find the partition whose cost is the closest to half the gap,
+            // any partition cheaper than the gap reduces the maximum load
+            final long target = gap / 2;
+            Partition best = null;
+            long bestDistance = Long.MAX_VALUE;
+            for (Partition entry : threads.get(max).entries()) {
+                final long cost = entry.cost;
+                if (cost <= 0 || cost >= gap) continue;
+                if (tickCounter - entry.lastMove < BALANCE_MOVE_COOLDOWN) continue;
+                final long distance = Math.abs(target - cost);
+                if (distance < bestDistance) {
+                    best = entry;
+                    bestDistance = distance;
+                }
+            }
+            if (best == null) break;
+            movePartition(best, threads.get(min));
+            best.lastMove = tickCounter;
+            loads[max] -= best.cost;
+            loads[min] += best.cost;
+            if (System.nanoTime() - currentTime >= nanoTimeout) break;
         }
     }
 
@@ -152,6 +244,15 @@ public final class ThreadDispatcher<P> {
         return threads.get(index);
     }
 
+    private void movePartition(Partition partitionEntry, TickThread next) {
+        final TickThread previous = partitionEntry.thread;
+        if (next == previous) return;
+        partitionEntry.thread = next;
+        previous.entries().remove(partitionEntry);
+        next.entries().add(partitionEntry);
+        partitionEntry.assignThread(next);
+    }
+
     private void signalUpdate(@NotNull DispatchUpdate<P> update) {
         this.updates.relaxedOffer(update);
     }
@@ -159,7 +260,7 @@ public final class ThreadDispatcher<P> {
     private void processLoadedPartition(P partition) {
         if (partitions.containsKey(partition)) return;
         final TickThread thread = retrieveThread(partition);
-        final Partition partitionEntry = new Partition(thread);
+        final Partition partitionEntry = new Partition(partition, thread);
         thread.entries().add(partitionEntry);
         this.partitions.put(partition, partitionEntry);
         this.partitionUpdateQueue.add(partition);
@@ -173,6 +274,7 @@ public final class ThreadDispatcher<P> {
         if (partitionEntry != null) {
             TickThread thread = partitionEntry.thread;
             thread.entries().remove(partitionEntry);
+            this.profiler.removePartition(partition);
         }
         this.partitionUpdateQueue.remove(partition);
         if (partition instanceof Tickable tickable) {
@@ -200,17 +302,31 @@ public final class ThreadDispatcher<P> {
         if (partitionEntry != null) {
             this.elements.put(tickable, partitionEntry);
             partitionEntry.elements.add(tickable);
-            if (tickable instanceof Entity entity) { // TODO support other types
-                ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(partitionEntry.thread());
-            }
+            assignThread(tickable, partitionEntry.thread());
+        }
+    }
+
+    private static void assignThread(Tickable tickable, TickThread thread) {
+        if (tickable instanceof Entity entity) {
+            ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(thread);
+        } else if (tickable instanceof Chunk chunk) {
+            ((AcquirableImpl<?>) chunk.getAcquirable()).updateThread(thread);
         }
+        // Other tickable types have no acquirable
     }
 
     public static final class Partition {
+        private final Object key;
         private TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
 
-        private Partition(TickThread thread) {
+        private long tickDuration;
+        // Smoothed tick duration used for balancing
+        private long cost;
+        private long lastMove = -BALANCE_MOVE_COOLDOWN;
+
+        private Partition(Object key, TickThread thread) {
+            this.key = key;
             this.thread = thread;
         }
 
@@ -221,6 +337,28 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Gets the time spent ticking this partition during the last tick.
+         *
+         * @return the last tick duration in nanoseconds
+         */
+        public long tickDuration() {
+            return tickDuration;
+        }
+
+        Object key() {
+            return key;
+        }
+
+        void updateTickDuration(long duration) {
+            this.tickDuration = duration;
+            this.cost += (duration - cost) / 4;
+        }
+
+        void assignThread(TickThread thread) {
+            for (Tickable element : elements) ThreadDispatcher.assignThread(element, thread);
+        }
     }
 
     @ApiStatus.Internal
@@ -19,6 +19,29 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider spreading partitions evenly at first, then moving them
+     * between threads based on their measured tick time.
+     *
+     * @return a new balanced provider
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced() {
+        return new ThreadProvider<>() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public int findThread(@NotNull T partition) {
+                return counter.getAndIncrement();
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        };
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -50,6 +73,14 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is updated based on the time spent ticking each partition, moving partitions
+         * from the most loaded thread to the least loaded one.
+         * <p>
+         * Means that {@link #findThread(Object)} will only be called once for each partition,
+         * a moved partition then stays on its new thread for a while to avoid flapping.
+         */
+        BALANCED
     }
 }
@@ -4,6 +4,9 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.monitoring.TickProfiler;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -11,7 +14,11 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -19,16 +26,45 @@ import java.util.concurrent.locks.ReentrantLock;
  * Thread responsible for ticking {@link Chunk chunks} and {@link Entity entities}.
  * <p>
  * Created in {@link ThreadDispatcher}, and awaken every tick with a task to execute.
+ * <p>
+ * The messages submitted with {@link Acquirable#submit(java.util.function.Function)} to the elements of this thread
+ * are executed at the start of its tick, before any partition.
  */
 @ApiStatus.Internal
 public final class TickThread extends MinestomThread {
+    private static final ThreadDispatcher.Partition[] EMPTY_PARTITIONS = new ThreadDispatcher.Partition[0];
+    private static final AtomicInteger ORDER_COUNTER = new AtomicInteger();
+
     private final ReentrantLock lock = new ReentrantLock();
+    // Unique among all tick threads, locks are acquired by increasing order
+    private final int order = ORDER_COUNTER.getAndIncrement();
+    // Acquiring thread name -> nanoseconds waited to acquire this thread
+    private final Map<String, LongAdder> waitCounters = AcquirableImpl.pairWaitCounters(this);
     private volatile boolean stop;
 
     private CountDownLatch latch;
     private long tickTime;
+    // Null if profiling is disabled for the current tick
+    private TickProfiler profiler;
     private long tickNum = 0;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
+    // Elements with pending messages
+    private final MessagePassingQueue<AcquirableImpl<?>> mailbox = new MpscUnboundedArrayQueue<>(64);
+
+    // Work stealing, only used when enabled in the dispatcher
+    // Other threads whose partitions can be stolen, null if disabled
+    private List<TickThread> victims;
+    // Index of this thread in the victims, stealing starts from the next one
+    private int victimIndex;
+    // Partitions left to tick, the owner polls from the head while thieves poll from the tail
+    private volatile ThreadDispatcher.Partition[] pending = EMPTY_PARTITIONS;
+    // Packed as (head << 32 | tail)
+    private final AtomicLong pendingBounds = new AtomicLong();
+    private long stolenCount;
+    // Incremented each time a partition starts ticking, lets per-partition budgets be reset lazily
+    private long partitionTicks;
+    // Key of the partition being ticked
+    private Object partition;
 
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
@@ -58,40 +94,163 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
+        drainMailbox();
+        final List<TickThread> victims = this.victims;
+        if (victims == null) {
+            for (ThreadDispatcher.Partition entry : entries) {
+                assert entry.thread() == this;
+                tickPartition(entry);
+            }
+            return;
+        }
+        // Messages have been executed, the partitions can now be stolen
+        this.pendingBounds.set(this.pending.length);
+        // Own partitions first to keep affinity
+        ThreadDispatcher.Partition entry;
+        while ((entry = pollOwned()) != null) {
+            tickPartition(entry);
+        }
+        // Help slower threads
+        final int size = victims.size();
+        final int start = this.victimIndex;
+        for (int i = 1; i < size; i++) {
+            final TickThread victim = victims.get((start + i) % size);
+            while ((entry = victim.pollStolen()) != null) {
+                this.stolenCount++;
+                tickStolenPartition(victim, entry);
+            }
+        }
+    }
+
+    private void drainMailbox() {
+        final MessagePassingQueue<AcquirableImpl<?>> mailbox = this.mailbox;
+        // Elements queued while draining, including the ones forwarded by this thread, wait for the next tick
+        mailbox.drain(acquirable -> {
+            try {
+                acquirable.drainMessages(this);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }, mailbox.size());
+    }
+
+    void offerMailbox(@NotNull AcquirableImpl<?> acquirable) {
+        this.mailbox.offer(acquirable);
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
-        for (ThreadDispatcher.Partition entry : entries) {
-            assert entry.thread() == this;
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    lock.unlock();
-                    // #acquire() callbacks should be called here
-                    lock.lock();
-                }
-                try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
-                }
+        final List<Tickable> elements = entry.elements();
+        if (elements.isEmpty()) {
+            entry.updateTickDuration(0);
+            return;
+        }
+        final TickProfiler profiler = this.profiler;
+        this.partitionTicks++;
+        this.partition = entry.key();
+        final long start = System.nanoTime();
+        for (Tickable element : elements) {
+            if (lock.hasQueuedThreads()) {
+                lock.unlock();
+                // #acquire() callbacks should be called here
+                lock.lock();
             }
+            final long elementStart = profiler != null ? System.nanoTime() : 0;
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+            if (profiler != null) profiler.recordElement(element, System.nanoTime() - elementStart);
+        }
+        this.partition = null;
+        final long duration = System.nanoTime() - start;
+        entry.updateTickDuration(duration);
+        if (profiler != null) profiler.recordPartition(entry.key(), duration);
+    }
+
+    private void tickStolenPartition(TickThread victim, ThreadDispatcher.Partition entry) {
+        // Acquisitions must target the thread actually ticking the elements.
+        // Reassigned under the victim lock so that it cannot be using the elements without acquiring them,
+        // acquisitions which locked the victim meanwhile notice the new thread and retry
+        final ReentrantLock victimLock = AcquirableImpl.enter(this, victim);
+        try {
+            entry.assignThread(this);
+        } finally {
+            AcquirableImpl.leave(victimLock);
+        }
+        try {
+            tickPartition(entry);
+        } finally {
+            entry.assignThread(entry.thread());
         }
     }
 
-    void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+    void startTick(CountDownLatch latch, long tickTime, @Nullable TickProfiler profiler) {
+        if (entries.isEmpty() && mailbox.isEmpty()) {
             // Nothing to tick
             latch.countDown();
             return;
         }
+        this.victims = null;
+        start(latch, tickTime, profiler);
+    }
+
+    /**
+     * Starts a tick where partitions of the other threads can be stolen once this thread is done with its own.
+     * <p>
+     * {@link #prepareStealing()} must have been called on every thread before any of them is started.
+     */
+    void startStealingTick(CountDownLatch latch, long tickTime, @Nullable TickProfiler profiler, List<TickThread> threads) {
+        if (this.victims != threads) {
+            this.victims = threads;
+            this.victimIndex = Math.max(0, threads.indexOf(this));
+        }
+        start(latch, tickTime, profiler);
+    }
+
+    void prepareStealing() {
+        this.pending = entries.toArray(EMPTY_PARTITIONS);
+        // Published once the mailbox is drained, messages must not run concurrently with a thief
+        this.pendingBounds.set(0);
+    }
+
+    private void start(CountDownLatch latch, long tickTime, TickProfiler profiler) {
         this.latch = latch;
         this.tickTime = tickTime;
+        this.profiler = profiler;
         this.tickNum += 1;
         this.stop = false;
         LockSupport.unpark(this);
     }
 
+    private ThreadDispatcher.Partition pollOwned() {
+        final ThreadDispatcher.Partition[] pending = this.pending;
+        while (true) {
+            final long bounds = pendingBounds.get();
+            final int head = (int) (bounds >>> 32);
+            final int tail = (int) bounds;
+            if (head >= tail) return null;
+            if (pendingBounds.compareAndSet(bounds, ((long) (head + 1) << 32) | tail)) {
+                return pending[head];
+            }
+        }
+    }
+
+    private ThreadDispatcher.Partition pollStolen() {
+        final ThreadDispatcher.Partition[] pending = this.pending;
+        while (true) {
+            final long bounds = pendingBounds.get();
+            final int head = (int) (bounds >>> 32);
+            final int tail = (int) bounds;
+            if (head >= tail) return null;
+            if (pendingBounds.compareAndSet(bounds, ((long) head << 32) | (tail - 1))) {
+                return pending[tail - 1];
+            }
+        }
+    }
+
     public Collection<ThreadDispatcher.Partition> entries() {
         return entries;
     }
@@ -105,10 +264,49 @@ public final class TickThread extends MinestomThread {
         return lock;
     }
 
+    int order() {
+        return order;
+    }
+
+    Map<String, LongAdder> waitCounters() {
+        return waitCounters;
+    }
+
     public long getTick() {
         return tickNum;
     }
 
+    /**
+     * Gets the number of partitions ticked by this thread, including the stolen ones.
+     * <p>
+     * Can be used to detect that a new partition started ticking.
+     *
+     * @return the number of ticked partitions
+     */
+    public long getPartitionTicks() {
+        return partitionTicks;
+    }
+
+    /**
+     * Gets the partition whose elements are being ticked by this thread.
+     *
+     * @return the partition key, null if no partition is being ticked
+     */
+    public @Nullable Object getTickedPartition() {
+        return partition;
+    }
+
+    /**
+     * Gets the number of partitions this thread ticked on behalf of other threads.
+     * <p>
+     * Always 0 if work stealing is disabled in the dispatcher.
+     *
+     * @return the number of stolen partitions
+     */
+    public long getStolenCount() {
+        return stolenCount;
+    }
+
     void shutdown() {
         this.stop = true;
         LockSupport.unpark(this);
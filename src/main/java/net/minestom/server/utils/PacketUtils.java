@@ -17,6 +17,7 @@ import net.minestom.server.adventure.MinestomAdventure;
 import net.minestom.server.adventure.audience.PacketGroupingAudience;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
+import net.minestom.server.network.CompressionStrategy;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.*;
@@ -46,7 +47,10 @@ import java.util.zip.Inflater;
  * Be sure to check the implementation code.
  */
 public final class PacketUtils {
-    private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
+    // Lazily created deflater for each level, index is the level + 1
+    private static final ThreadLocal<Deflater[]> LOCAL_DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[Deflater.BEST_COMPRESSION + 2]);
+    // Reused by each worker thread, avoids allocating native zlib state per compressed packet
+    private static final ThreadLocal<Inflater> LOCAL_INFLATER = ThreadLocal.withInitial(Inflater::new);
 
     public static final boolean GROUPED_PACKET = PropertyUtils.getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = PropertyUtils.getBoolean("minestom.cached-packet", true);
@@ -216,12 +220,21 @@ public final class PacketUtils {
                         decompressedSize = payloadLength;
                     } else {
                         // Decompress to content buffer
+                        if (dataLength < 0 || dataLength > pool.capacity()) {
+                            throw new DataFormatException("Invalid decompressed length " + dataLength);
+                        }
                         content = BinaryBuffer.wrap(pool);
                         decompressedSize = dataLength;
-                        Inflater inflater = new Inflater(); // TODO: Pool?
-                        inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
-                        inflater.inflate(content.asByteBuffer(0, dataLength));
-                        inflater.reset();
+                        Inflater inflater = LOCAL_INFLATER.get();
+                        try {
+                            inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
+                            final int inflated = inflater.inflate(content.asByteBuffer(0, dataLength));
+                            if (inflated != dataLength) {
+                                throw new DataFormatException("Decompressed length mismatch, expected " + dataLength + " got " + inflated);
+                            }
+                        } finally {
+                            inflater.reset();
+                        }
                     }
                 }
                 // Slice packet
@@ -248,14 +261,30 @@ public final class PacketUtils {
                                          @NotNull ByteBuffer buffer,
                                          @NotNull ServerPacket packet,
                                          boolean compression) {
+        writeFramedPacket(state, buffer, packet, compression, MinecraftServer.getCompressionStrategy());
+    }
+
+    public static void writeFramedPacket(@NotNull ConnectionState state,
+                                         @NotNull ByteBuffer buffer,
+                                         @NotNull ServerPacket packet,
+                                         boolean compression,
+                                         @NotNull CompressionStrategy compressionStrategy) {
         writeFramedPacket(buffer, packet.getId(state), packet,
-                compression ? MinecraftServer.getCompressionThreshold() : 0);
+                compression ? MinecraftServer.getCompressionThreshold() : 0, compressionStrategy);
     }
 
     public static void writeFramedPacket(@NotNull ByteBuffer buffer,
                                          int id,
                                          @NotNull NetworkBuffer.Writer writer,
                                          int compressionThreshold) {
+        writeFramedPacket(buffer, id, writer, compressionThreshold, MinecraftServer.getCompressionStrategy());
+    }
+
+    public static void writeFramedPacket(@NotNull ByteBuffer buffer,
+                                         int id,
+                                         @NotNull NetworkBuffer.Writer writer,
+                                         int compressionThreshold,
+                                         @NotNull CompressionStrategy compressionStrategy) {
         NetworkBuffer networkBuffer = new NetworkBuffer(buffer, false);
         if (compressionThreshold <= 0) {
             // Uncompressed format https://wiki.vg/Protocol#Without_compression
@@ -275,12 +304,14 @@ public final class PacketUtils {
         networkBuffer.write(NetworkBuffer.VAR_INT, id);
         networkBuffer.write(writer);
         final int packetSize = networkBuffer.writeIndex() - contentStart;
-        final boolean compressed = packetSize >= compressionThreshold;
+        final int level = packetSize >= compressionThreshold ?
+                compressionStrategy.compressionLevel(writer, packetSize) : CompressionStrategy.UNCOMPRESSED;
+        final boolean compressed = level != CompressionStrategy.UNCOMPRESSED;
         if (compressed) {
             // Packet large enough, compress it
             try (var hold = ObjectPool.PACKET_POOL.hold()) {
                 final ByteBuffer input = hold.get().put(0, buffer, contentStart, packetSize);
-                Deflater deflater = LOCAL_DEFLATER.get();
+                Deflater deflater = localDeflater(level);
                 deflater.setInput(input.limit(packetSize));
                 deflater.finish();
                 deflater.deflate(buffer.position(contentStart));
@@ -296,12 +327,29 @@ public final class PacketUtils {
         buffer.position(networkBuffer.writeIndex());
     }
 
+    private static Deflater localDeflater(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        Deflater[] deflaters = LOCAL_DEFLATERS.get();
+        Deflater deflater = deflaters[level + 1];
+        if (deflater == null) deflaters[level + 1] = deflater = new Deflater(level);
+        return deflater;
+    }
+
     @ApiStatus.Internal
     public static ByteBuffer createFramedPacket(@NotNull ConnectionState state, @NotNull ByteBuffer buffer, @NotNull ServerPacket packet, boolean compression) {
         writeFramedPacket(state, buffer, packet, compression);
         return buffer.flip();
     }
 
+    @ApiStatus.Internal
+    public static ByteBuffer createFramedPacket(@NotNull ConnectionState state, @NotNull ByteBuffer buffer, @NotNull ServerPacket packet,
+                                                boolean compression, @NotNull CompressionStrategy compressionStrategy) {
+        writeFramedPacket(state, buffer, packet, compression, compressionStrategy);
+        return buffer.flip();
+    }
+
     @ApiStatus.Internal
     public static ByteBuffer createFramedPacket(@NotNull ConnectionState state, @NotNull ByteBuffer buffer, @NotNull ServerPacket packet) {
         return createFramedPacket(state, buffer, packet, MinecraftServer.getCompressionThreshold() > 0);
@@ -309,8 +357,13 @@ public final class PacketUtils {
 
     @ApiStatus.Internal
     public static FramedPacket allocateTrimmedPacket(@NotNull ConnectionState state, @NotNull ServerPacket packet) {
+        return allocateTrimmedPacket(state, packet, MinecraftServer.getCompressionThreshold() > 0);
+    }
+
+    @ApiStatus.Internal
+    public static FramedPacket allocateTrimmedPacket(@NotNull ConnectionState state, @NotNull ServerPacket packet, boolean compression) {
         try (var hold = ObjectPool.PACKET_POOL.hold()) {
-            final ByteBuffer temp = PacketUtils.createFramedPacket(state, hold.get(), packet);
+            final ByteBuffer temp = PacketUtils.createFramedPacket(state, hold.get(), packet, compression);
             final int size = temp.remaining();
             final ByteBuffer buffer = ByteBuffer.allocateDirect(size).put(0, temp, 0, size);
             return new FramedPacket(packet, buffer);
@@ -1,11 +1,13 @@
 package net.minestom.server;
 
+import net.minestom.server.monitoring.TickMetrics;
 import org.junit.jupiter.api.Test;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
@@ -32,6 +34,9 @@ public class ServerProcessTest {
         process.start(new InetSocketAddress("localhost", 25565));
         var ticker = process.ticker();
         assertDoesNotThrow(() -> ticker.tick(System.currentTimeMillis()));
+        for (TickMetrics.Phase phase : TickMetrics.Phase.values()) {
+            assertEquals(1, ticker.metrics().histogram(phase).count(), phase.name());
+        }
         assertDoesNotThrow(process::stop);
     }
 }
@@ -0,0 +1,45 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollisionTableTest {
+
+    @Test
+    public void matchesRegistry() {
+        List<Block> blocks = List.of(Block.AIR, Block.STONE, Block.GLASS, Block.OAK_SLAB, Block.OAK_STAIRS,
+                Block.OAK_FENCE, Block.STONE_BRICK_WALL, Block.TORCH, Block.WATER, Block.CHEST, Block.SNOW);
+        for (Block block : blocks) {
+            final ShapeImpl shape = (ShapeImpl) block.registry().collisionShape();
+            assertSame(shape, CollisionTable.shape(block.stateId()), block::toString);
+            assertSame(shape.collisionBoundingBoxes(), CollisionTable.boxes(block.stateId()), block::toString);
+            assertEquals(shape.fullFaces(), CollisionTable.fullFaces(block.stateId()), block::toString);
+            assertEquals(shape.airFaces(), CollisionTable.emptyFaces(block.stateId()), block::toString);
+        }
+    }
+
+    @Test
+    public void flags() {
+        assertTrue(CollisionTable.isEmpty(Block.AIR.stateId()));
+        assertTrue(CollisionTable.isEmpty(Block.TORCH.stateId()));
+        assertFalse(CollisionTable.isFull(Block.AIR.stateId()));
+
+        assertTrue(CollisionTable.isFull(Block.STONE.stateId()));
+        assertFalse(CollisionTable.isEmpty(Block.STONE.stateId()));
+        assertFalse(CollisionTable.isFull(Block.OAK_SLAB.stateId()));
+
+        assertEquals(0, CollisionTable.flags(Block.OAK_SLAB.stateId()));
+        assertEquals(CollisionTable.SHORT, CollisionTable.flags(Block.WHITE_CARPET.stateId()));
+        assertEquals(CollisionTable.TALL, CollisionTable.flags(Block.OAK_FENCE.stateId()));
+    }
+
+    @Test
+    public void unknownState() {
+        assertSame(CollisionTable.shape(Block.AIR.stateId()), CollisionTable.shape(-1));
+        assertSame(CollisionTable.shape(Block.AIR.stateId()), CollisionTable.shape(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,63 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class PhysicsBatchIntegrationTest {
+    private static final BoundingBox ITEM_BOX = new BoundingBox(0.25, 0.25, 0.25);
+
+    @Test
+    public void landing(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+
+        PhysicsBatch batch = new PhysicsBatch(2);
+        final int falling = batch.add(new Vec(5.5, 40.5, 5.5), new Vec(0, -2, 0), ITEM_BOX);
+        final int flying = batch.add(new Vec(8.5, 45, 8.5), new Vec(0.5, 0, 0), ITEM_BOX);
+        batch.step(instance);
+
+        assertEquals(40, batch.y(falling), Vec.EPSILON);
+        assertTrue(batch.isOnGround(falling));
+        assertTrue(batch.collisionY(falling));
+        assertEquals(0, batch.velocityY(falling));
+
+        assertEquals(9, batch.x(flying), Vec.EPSILON);
+        assertFalse(batch.isOnGround(flying));
+        assertFalse(batch.collisionX(flying));
+        assertEquals(0.5, batch.velocityX(flying));
+    }
+
+    @Test
+    public void wall(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.setBlock(10, 40, 5, Block.STONE);
+
+        PhysicsBatch batch = new PhysicsBatch(1);
+        batch.add(new Vec(9.5, 40, 5.5), new Vec(1, 0, 0), ITEM_BOX);
+        batch.step(instance);
+        assertEquals(10 - ITEM_BOX.width() / 2, batch.x(0), Vec.EPSILON);
+        assertTrue(batch.collisionX(0));
+        assertEquals(0, batch.velocityX(0));
+    }
+
+    @Test
+    public void slab(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.setBlock(5, 40, 5, Block.STONE_SLAB);
+
+        PhysicsBatch batch = new PhysicsBatch(1);
+        batch.add(new Vec(5.5, 42, 5.5), new Vec(0, -3, 0), ITEM_BOX);
+        batch.step(instance);
+        assertEquals(40.5, batch.y(0), Vec.EPSILON);
+        assertTrue(batch.isOnGround(0));
+    }
+}
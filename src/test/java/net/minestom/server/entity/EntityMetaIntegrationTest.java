@@ -50,11 +50,14 @@ public class EntityMetaIntegrationTest {
             }
         });
 
-        // Now test the "normal" behavior: Updates should be sent instantly
+        // Now test the "normal" behavior: Updates of a tick should be sent at once
         incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
         player.setInvisible(false);
         player.setNoGravity(false);
         player.setSneaking(false);
+        incomingPackets.assertEmpty();
+        incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
+        env.tick();
         packets = incomingPackets.collect();
         validMetaDataPackets(packets, player.getEntityId(), entry -> {
             final Object content = entry.value();
@@ -65,8 +68,9 @@ public class EntityMetaIntegrationTest {
                 default -> Assertions.fail("Invalid MetaData entry");
             }
         });
-        // 4 changes, for two viewers
-        assertEquals(4 * 2, packets.size());
+        // A single packet with the 3 changed indices (flags, no gravity, pose), for two viewers
+        assertEquals(2, packets.size());
+        for (var packet : packets) assertEquals(3, packet.entries().size());
     }
 
     private void validMetaDataPackets(List<EntityMetaDataPacket> packets, int entityId, Consumer<Metadata.Entry<?>> contentChecker) {
@@ -131,4 +135,33 @@ public class EntityMetaIntegrationTest {
             assertEquals(Component.text("Custom Name 2"), entry.value());
         });
     }
+
+    @Test
+    public void flushOnNewViewer(Env env) {
+        var instance = env.createFlatInstance();
+        var viewerConnection = env.createConnection();
+        var viewer = viewerConnection.connect(instance, new Pos(0, 42, 0)).join();
+        var newViewer = env.createPlayer(instance, new Pos(0, 42, 0));
+
+        Entity entity = new Entity(EntityType.BEE);
+        entity.setAutoViewable(false);
+        entity.setInstance(instance, new Pos(0, 42, 1)).join();
+        entity.addViewer(viewer);
+
+        var incomingPackets = viewerConnection.trackIncoming(EntityMetaDataPacket.class);
+        entity.setCustomName(Component.text("Custom Name"));
+        // The change is pending until the tick, showing the entity to another player sends it to the existing viewers
+        entity.addViewer(newViewer);
+        var packets = incomingPackets.collect();
+        assertEquals(1, packets.size());
+        validMetaDataPackets(packets, entity.getEntityId(), entry -> {
+            if (entry.type() != Metadata.TYPE_OPTCHAT) return;
+            assertEquals(Component.text("Custom Name"), entry.value());
+        });
+
+        // Nothing left to send
+        incomingPackets = viewerConnection.trackIncoming(EntityMetaDataPacket.class);
+        env.tick();
+        incomingPackets.assertEmpty();
+    }
 }
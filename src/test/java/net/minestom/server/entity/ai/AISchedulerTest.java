@@ -0,0 +1,116 @@
+package net.minestom.server.entity.ai;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Instance;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class AISchedulerTest {
+
+    @Test
+    public void deferred(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        // Ticked first in the partition, exhausts the budget
+        spawnSlow(instance);
+        List<ThinkingCreature> creatures = List.of(spawn(instance, 1), spawn(instance, 2), spawn(instance, 3));
+
+        AIScheduler.resetCounters();
+        for (int i = 0; i < 12; i++) env.tick();
+
+        for (ThinkingCreature creature : creatures) {
+            final int thinks = creature.thinks.get();
+            // Deferred, but still thinks every 4 ticks (minestom.ai.deferred-interval)
+            assertTrue(thinks >= 3 && thinks < 12, "Unexpected think count: " + thinks);
+        }
+        assertTrue(AIScheduler.getDeferredCount() > 0);
+        assertTrue(AIScheduler.getThinkCount() >= 12 + 3 * 3);
+        // Entities are partitioned by chunk
+        final var chunk = instance.getChunk(0, 0);
+        assertEquals(AIScheduler.getDeferredCount(), AIScheduler.getDeferredCount(chunk));
+        assertEquals(AIScheduler.getThinkCount(), AIScheduler.getThinkCount(chunk));
+        assertEquals(0, AIScheduler.getDeferredCount(new Object()));
+    }
+
+    @Test
+    public void closerFirst(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        // Leaves about a third of the budget
+        spawnSlow(instance, 650_000);
+        var unseen = spawn(instance, 1);
+        var seen = spawn(instance, 2);
+        // Only sees the second creature, further than the near player distance
+        var player = env.createPlayer(instance, new Pos(42, 42, 0));
+        unseen.updateViewableRule(viewer -> viewer != player);
+        assertTrue(seen.getViewers().contains(player));
+        assertFalse(unseen.getViewers().contains(player));
+
+        for (int i = 0; i < 12; i++) env.tick();
+
+        // The seen creature keeps a smaller reserve, and uses the budget left by the slow one
+        assertEquals(12, seen.thinks.get());
+        assertTrue(unseen.thinks.get() < 12, "Unexpected think count: " + unseen.thinks.get());
+    }
+
+    @Test
+    public void nearPlayer(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        spawnSlow(instance);
+        List<ThinkingCreature> creatures = List.of(spawn(instance, 1), spawn(instance, 2));
+        env.createPlayer(instance, new Pos(0, 42, 0));
+
+        AIScheduler.resetCounters();
+        for (int i = 0; i < 12; i++) env.tick();
+
+        for (ThinkingCreature creature : creatures) assertEquals(12, creature.thinks.get());
+        assertEquals(0, AIScheduler.getDeferredCount());
+    }
+
+    private static void spawnSlow(Instance instance) {
+        // Above the default budget of 1ms
+        spawnSlow(instance, 2_000_000);
+    }
+
+    private static void spawnSlow(Instance instance, long thinkNanos) {
+        var slow = new EntityCreature(EntityType.ZOMBIE) {
+            @Override
+            public void aiTick(long time) {
+                super.aiTick(time);
+                final long end = System.nanoTime() + thinkNanos;
+                while (System.nanoTime() < end) Thread.onSpinWait();
+            }
+        };
+        slow.setInstance(instance, new Pos(0, 42, 0)).join();
+    }
+
+    private static ThinkingCreature spawn(Instance instance, int x) {
+        var creature = new ThinkingCreature();
+        creature.setInstance(instance, new Pos(x, 42, 0)).join();
+        return creature;
+    }
+
+    private static final class ThinkingCreature extends EntityCreature {
+        private final AtomicInteger thinks = new AtomicInteger();
+
+        ThinkingCreature() {
+            super(EntityType.ZOMBIE);
+        }
+
+        @Override
+        public void aiTick(long time) {
+            super.aiTick(time);
+            thinks.incrementAndGet();
+        }
+    }
+}
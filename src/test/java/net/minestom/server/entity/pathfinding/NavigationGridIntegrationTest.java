@@ -0,0 +1,103 @@
+package net.minestom.server.entity.pathfinding;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class NavigationGridIntegrationTest {
+
+    @Test
+    public void straightPath(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        NavigationGrid grid = instance.getNavigationGrid();
+
+        List<Point> path = grid.findPath(new Vec(1.5, 40, 1.5), new Vec(8.5, 40, 1.5), 1.95, false);
+        assertNotNull(path);
+        assertEquals(7, path.size());
+        assertEquals(new Vec(8.5, 40, 1.5), path.get(path.size() - 1));
+    }
+
+    @Test
+    public void aroundWall(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        // Wall with a gap at z = 10
+        for (int z = 0; z < 10; z++) {
+            instance.setBlock(5, 40, z, Block.STONE);
+            instance.setBlock(5, 41, z, Block.STONE);
+        }
+        NavigationGrid grid = instance.getNavigationGrid();
+
+        List<Point> path = grid.findPath(new Vec(2.5, 40, 2.5), new Vec(8.5, 40, 2.5), 1.95, false);
+        assertNotNull(path);
+        assertEquals(new Vec(8.5, 40, 2.5), path.get(path.size() - 1));
+        assertTrue(path.stream().anyMatch(point -> point.blockX() == 5 && point.blockZ() >= 10));
+        for (Point point : path) assertEquals(40, point.y());
+    }
+
+    @Test
+    public void stepUp(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        for (int z = 0; z < 16; z++) instance.setBlock(5, 40, z, Block.STONE);
+        NavigationGrid grid = instance.getNavigationGrid();
+
+        List<Point> path = grid.findPath(new Vec(2.5, 40, 2.5), new Vec(8.5, 40, 2.5), 1.95, false);
+        assertNotNull(path);
+        assertTrue(path.contains(new Vec(5.5, 41, 2.5)));
+    }
+
+    @Test
+    public void blockChanges(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        NavigationGrid grid = instance.getNavigationGrid();
+        // Enclose the target
+        for (int x = 7; x <= 9; x++) {
+            for (int z = 0; z <= 2; z++) {
+                if (x == 8 && z == 1) continue;
+                for (int y = 40; y < 43; y++) instance.setBlock(x, y, z, Block.STONE);
+            }
+        }
+        assertNull(grid.findPath(new Vec(1.5, 40, 1.5), new Vec(8.5, 40, 1.5), 1.95, false));
+
+        instance.setBlock(7, 40, 1, Block.AIR);
+        instance.setBlock(7, 41, 1, Block.AIR);
+        assertNotNull(grid.findPath(new Vec(1.5, 40, 1.5), new Vec(8.5, 40, 1.5), 1.95, false));
+    }
+
+    @Test
+    public void sharedPath(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        NavigationGrid grid = instance.getNavigationGrid();
+
+        List<Point> path = grid.findPath(new Vec(1.5, 40, 1.5), new Vec(12.5, 40, 1.5), 1.95, false);
+        assertNotNull(path);
+        // Start along the first path
+        List<Point> suffix = grid.findPath(path.get(3), new Vec(12.5, 40, 1.5), 1.95, false);
+        assertEquals(path.subList(4, path.size()), suffix);
+
+        // Invalidated by a block change
+        instance.setBlock(12, 40, 1, Block.STONE);
+        assertNotEquals(path.subList(4, path.size()), grid.findPath(path.get(3), new Vec(12.5, 40, 1.5), 1.95, false));
+    }
+
+    @Test
+    public void unloadedChunk(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        NavigationGrid grid = instance.getNavigationGrid();
+        assertNull(grid.findPath(new Vec(1.5, 40, 1.5), new Vec(20.5, 40, 1.5), 1.95, false));
+    }
+}
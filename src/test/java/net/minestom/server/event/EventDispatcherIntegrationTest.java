@@ -0,0 +1,57 @@
+package net.minestom.server.event;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.entity.EntityTickEvent;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class EventDispatcherIntegrationTest {
+
+    @Test
+    public void lazySupplier(Env env) {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger called = new AtomicInteger();
+        var entity = new Entity(EntityType.ZOMBIE);
+
+        assertFalse(EventDispatcher.hasListener(EntityTickEvent.class));
+        assertNull(EventDispatcher.call(EntityTickEvent.class, () -> {
+            created.incrementAndGet();
+            return new EntityTickEvent(entity);
+        }));
+        assertEquals(0, created.get());
+
+        env.process().eventHandler().addListener(EntityTickEvent.class, event -> called.incrementAndGet());
+        assertTrue(EventDispatcher.hasListener(EntityTickEvent.class));
+        var event = EventDispatcher.call(EntityTickEvent.class, () -> {
+            created.incrementAndGet();
+            return new EntityTickEvent(entity);
+        });
+        assertNotNull(event);
+        assertSame(entity, event.getEntity());
+        assertEquals(1, created.get());
+        assertEquals(1, called.get());
+    }
+
+    @Test
+    public void localListener(Env env) {
+        var instance = env.createFlatInstance();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+        assertFalse(EventDispatcher.hasListener(EntityTickEvent.class));
+
+        // Listeners of mapped nodes are visible from the global handler
+        AtomicInteger called = new AtomicInteger();
+        entity.eventNode().addListener(EntityTickEvent.class, event -> called.incrementAndGet());
+        assertTrue(EventDispatcher.hasListener(EntityTickEvent.class));
+        entity.tick(System.currentTimeMillis());
+        assertEquals(1, called.get());
+    }
+}
@@ -14,9 +14,14 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 
 @EnvTest
 public class AnvilLoaderIntegrationTest {
@@ -182,6 +187,74 @@ public class AnvilLoaderIntegrationTest {
         env.destroyInstance(instance);
     }
 
+    @Test
+    public void concurrentLoadAndSave(Env env) throws Exception {
+        // Far lower limit than the number of operations, requests must wait without blocking the caller
+        AnvilLoader loader = new AnvilLoader(worldFolder.resolve("concurrent"), 2);
+        Instance instance = env.createFlatInstance(loader);
+        List<Chunk> chunks = new ArrayList<>();
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                chunks.add(instance.loadChunk(x, z).join());
+                instance.setBlock(x * 16, 100, z * 16, Block.STONE);
+            }
+        }
+
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            for (Chunk chunk : chunks) {
+                futures.add(loader.saveChunk(chunk));
+                futures.add(loader.loadChunk(instance, chunk.getChunkX(), chunk.getChunkZ()));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<?> future : futures) Assertions.assertFalse(future.isCompletedExceptionally());
+        assertEquals(0, loader.getWaitingOperations());
+
+        for (Chunk chunk : chunks) {
+            final Chunk reloaded = loader.loadChunk(instance, chunk.getChunkX(), chunk.getChunkZ()).join();
+            assertEquals(Block.STONE, reloaded.getBlock(0, 100, 0));
+        }
+
+        env.destroyInstance(instance);
+    }
+
+    @Test
+    public void closedRegion(Env env) throws Exception {
+        AnvilLoader loader = new AnvilLoader(worldFolder.resolve("closed"));
+        Instance instance = env.createFlatInstance(loader);
+        // Generated, absent from the region file
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        instance.setBlock(0, 100, 0, Block.STONE);
+
+        // Region files only opened for writes are closed once idle
+        loader.saveChunk(chunk).join();
+        awaitClosed(loader);
+
+        // Closed regions are replaced on the next operation
+        instance.setBlock(1, 100, 0, Block.STONE);
+        loader.saveChunk(chunk).join();
+        Chunk reloaded = loader.loadChunk(instance, 0, 0).join();
+        assertEquals(Block.STONE, reloaded.getBlock(1, 100, 0));
+
+        // Closed once all of its loaded chunks are unloaded
+        loader.unloadChunk(reloaded);
+        awaitClosed(loader);
+        reloaded = loader.loadChunk(instance, 0, 0).join();
+        assertEquals(Block.STONE, reloaded.getBlock(0, 100, 0));
+        assertEquals(Block.STONE, reloaded.getBlock(1, 100, 0));
+
+        env.destroyInstance(instance);
+    }
+
+    private static void awaitClosed(AnvilLoader loader) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (loader.isRegionOpen(0, 0)) {
+            if (System.nanoTime() > deadline) fail("Region file has not been closed");
+            Thread.sleep(10);
+        }
+    }
+
     @AfterAll
     public static void cleanupTest() throws IOException {
         Files.walkFileTree(worldFolder, new SimpleFileVisitor<>() {
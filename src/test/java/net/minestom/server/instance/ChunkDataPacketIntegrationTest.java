@@ -0,0 +1,39 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class ChunkDataPacketIntegrationTest {
+
+    @Test
+    public void sectionInvalidation(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = instance.getChunk(0, 0);
+        assertNotNull(chunk);
+
+        final byte[] initial = chunkData(chunk);
+        assertArrayEquals(initial, chunkData(chunk.copy(instance, 0, 0)));
+
+        instance.setBlock(5, 100, 5, Block.STONE);
+        final byte[] updated = chunkData(chunk);
+        assertFalse(Arrays.equals(initial, updated));
+        // Must match a chunk encoding all of its sections
+        assertArrayEquals(updated, chunkData(chunk.copy(instance, 0, 0)));
+    }
+
+    private static byte[] chunkData(Chunk chunk) {
+        var packet = (ChunkDataPacket) ((CachedPacket) chunk.getFullDataPacket()).packet(ConnectionState.PLAY);
+        return packet.chunkData().data();
+    }
+}
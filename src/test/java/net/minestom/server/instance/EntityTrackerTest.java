@@ -246,4 +246,43 @@ public class EntityTrackerTest {
         assertThrows(Exception.class, () -> entities.add(new Entity(EntityType.ZOMBIE)));
         assertThrows(Exception.class, () -> chunkEntities.add(new Entity(EntityType.ZOMBIE)));
     }
+
+    @Test
+    public void shapeQueries() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(2, 40, 2), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(20, 40, 2), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> found = new HashSet<>();
+        tracker.entitiesInBox(new Vec(0, 39, 0), new Vec(4, 41, 4), EntityTracker.Target.ENTITIES, found::add);
+        assertEquals(Set.of(ent1), found);
+
+        found.clear();
+        tracker.entitiesAlongRay(new Vec(0, 40, 3), new Vec(30, 0, 0), 1.5, EntityTracker.Target.ENTITIES, found::add);
+        assertEquals(Set.of(ent1, ent2), found);
+
+        found.clear();
+        tracker.entitiesAlongRay(new Vec(0, 40, 3), new Vec(10, 0, 0), 1.5, EntityTracker.Target.ENTITIES, found::add);
+        assertEquals(Set.of(ent1), found);
+
+        // Leaves its grid cell
+        tracker.move(ent1, new Vec(2, 80, 2), EntityTracker.Target.ENTITIES, null);
+        found.clear();
+        tracker.entitiesInBox(new Vec(0, 39, 0), new Vec(4, 41, 4), EntityTracker.Target.ENTITIES, found::add);
+        assertTrue(found.isEmpty());
+        tracker.nearbyEntities(new Vec(2, 80, 2), 1, EntityTracker.Target.ENTITIES, found::add);
+        assertEquals(Set.of(ent1), found);
+
+        // Large query answered from the chunks
+        found.clear();
+        tracker.nearbyEntities(Vec.ZERO, 200, EntityTracker.Target.ENTITIES, found::add);
+        assertEquals(Set.of(ent1, ent2), found);
+
+        tracker.unregister(ent1, EntityTracker.Target.ENTITIES, null);
+        found.clear();
+        tracker.nearbyEntities(new Vec(2, 80, 2), 1, EntityTracker.Target.ENTITIES, found::add);
+        assertTrue(found.isEmpty());
+    }
 }
@@ -0,0 +1,52 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = (DynamicChunk) instance.getChunk(0, 0);
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 7));
+        assertEquals(40, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING, 3, 7));
+    }
+
+    @Test
+    public void incremental(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = (DynamicChunk) instance.getChunk(0, 0);
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 7));
+
+        instance.setBlock(3, 100, 7, Block.STONE);
+        instance.setBlock(3, 80, 7, Block.OAK_LEAVES);
+        assertEquals(101, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 7));
+        assertEquals(101, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, 3, 7));
+        // Unrelated column
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 4, 7));
+
+        instance.setBlock(3, 100, 7, Block.AIR);
+        assertEquals(81, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 7));
+        assertEquals(40, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, 3, 7));
+
+        instance.setBlock(3, 80, 7, Block.AIR);
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 7));
+    }
+
+    @Test
+    public void emptyColumn(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = (DynamicChunk) instance.getChunk(0, 0);
+        for (int y = 0; y < 40; y++) instance.setBlock(0, y, 0, Block.AIR);
+        assertEquals(instance.getDimensionType().getMinY(), chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 0, 0));
+    }
+}
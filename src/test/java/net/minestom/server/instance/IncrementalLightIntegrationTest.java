@@ -0,0 +1,153 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.light.Light;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class IncrementalLightIntegrationTest {
+
+    @Test
+    public void torchPlacement(Env env) {
+        Instance instance = lightedInstance(env);
+
+        instance.setBlock(8, 45, 8, Block.TORCH);
+        assertNoPendingRelight(instance);
+        assertEquals(14, blockLight(instance, 8, 45, 8));
+        assertEquals(10, blockLight(instance, 8, 45, 12));
+        // Crosses the chunk border
+        assertEquals(2, blockLight(instance, 8, 45, 20));
+        assertEquals(9, blockLight(instance, 8, 40, 8));
+        // Stone is not lit
+        assertEquals(0, blockLight(instance, 8, 39, 8));
+        assertMatchesFullRelight(instance);
+
+        instance.setBlock(8, 45, 8, Block.AIR);
+        assertNoPendingRelight(instance);
+        assertEquals(0, blockLight(instance, 8, 45, 8));
+        assertEquals(0, blockLight(instance, 8, 45, 20));
+        assertMatchesFullRelight(instance);
+    }
+
+    @Test
+    public void overlappingTorches(Env env) {
+        Instance instance = lightedInstance(env);
+
+        instance.setBlock(4, 42, 4, Block.TORCH);
+        instance.setBlock(10, 42, 4, Block.TORCH);
+        instance.setBlock(4, 42, 4, Block.AIR);
+        assertNoPendingRelight(instance);
+        // Still lit by the remaining torch
+        assertEquals(8, blockLight(instance, 4, 42, 4));
+        assertMatchesFullRelight(instance);
+    }
+
+    @Test
+    public void skyOcclusion(Env env) {
+        Instance instance = lightedInstance(env);
+
+        instance.setBlock(8, 45, 8, Block.STONE);
+        assertNoPendingRelight(instance);
+        assertEquals(15, skyLight(instance, 8, 46, 8));
+        assertEquals(14, skyLight(instance, 8, 40, 8));
+        assertMatchesFullRelight(instance);
+
+        // Roof covering a column
+        for (int x = 6; x <= 10; x++) {
+            for (int z = 6; z <= 10; z++) {
+                instance.setBlock(x, 45, z, Block.STONE);
+            }
+        }
+        assertEquals(12, skyLight(instance, 8, 44, 8));
+        assertMatchesFullRelight(instance);
+
+        instance.setBlock(8, 45, 8, Block.AIR);
+        assertEquals(15, skyLight(instance, 8, 40, 8));
+        assertMatchesFullRelight(instance);
+    }
+
+    private static Instance lightedInstance(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+        LightingChunk.relight(instance, instance.getChunks());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!instance.lightEngine.isIdle()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Light engine did not settle");
+            Thread.onSpinWait();
+        }
+        // Sections invalidated by the initial light of the chunks
+        LightingChunk.relight(instance, instance.getChunks());
+        return instance;
+    }
+
+    private static void assertNoPendingRelight(Instance instance) {
+        for (Chunk chunk : instance.getChunks()) {
+            for (Section section : chunk.getSections()) {
+                assertFalse(section.blockLight().requiresUpdate());
+                assertFalse(section.skyLight().requiresUpdate());
+            }
+        }
+    }
+
+    private static void assertMatchesFullRelight(Instance instance) {
+        final List<int[]> incremental = snapshot(instance);
+        LightingChunk.relight(instance, instance.getChunks());
+        final List<int[]> full = snapshot(instance);
+        for (int i = 0; i < full.size(); i++) {
+            assertArrayEquals(full.get(i), incremental.get(i));
+        }
+    }
+
+    private static List<int[]> snapshot(Instance instance) {
+        List<int[]> levels = new ArrayList<>();
+        for (int chunkX = -2; chunkX <= 2; chunkX++) {
+            for (int chunkZ = -2; chunkZ <= 2; chunkZ++) {
+                final Chunk chunk = instance.getChunk(chunkX, chunkZ);
+                assertNotNull(chunk);
+                for (Section section : chunk.getSections()) {
+                    levels.add(levels(section.blockLight()));
+                    levels.add(levels(section.skyLight()));
+                }
+            }
+        }
+        return levels;
+    }
+
+    private static int[] levels(Light light) {
+        int[] levels = new int[16 * 16 * 16];
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    levels[x | z << 4 | y << 8] = light.getLevel(x, y, z);
+                }
+            }
+        }
+        return levels;
+    }
+
+    private static int blockLight(Instance instance, int x, int y, int z) {
+        return section(instance, x, y, z).blockLight().getLevel(x & 15, y & 15, z & 15);
+    }
+
+    private static int skyLight(Instance instance, int x, int y, int z) {
+        return section(instance, x, y, z).skyLight().getLevel(x & 15, y & 15, z & 15);
+    }
+
+    private static Section section(Instance instance, int x, int y, int z) {
+        final Chunk chunk = instance.getChunkAt(x, z);
+        assertNotNull(chunk);
+        return chunk.getSectionAt(y);
+    }
+}
@@ -0,0 +1,36 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OcclusionTableTest {
+
+    @Test
+    public void matchesShapes() {
+        List<Block> blocks = List.of(Block.AIR, Block.STONE, Block.GLOWSTONE, Block.GLASS, Block.LANTERN,
+                Block.OAK_SLAB, Block.OAK_SLAB.withProperty("type", "top"), Block.OAK_STAIRS,
+                Block.TORCH, Block.WATER, Block.OAK_LEAVES, Block.CHEST);
+        for (Block from : blocks) {
+            for (Block to : blocks) {
+                for (BlockFace face : BlockFace.values()) {
+                    final boolean expected = from.registry().collisionShape()
+                            .isOccluded(to.registry().collisionShape(), face);
+                    assertEquals(expected, OcclusionTable.isOccluded(from.stateId(), to.stateId(), face.ordinal()),
+                            () -> from + " -> " + to + " " + face);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lightEmission() {
+        assertEquals(15, OcclusionTable.lightEmission(Block.GLOWSTONE.stateId()));
+        assertEquals(14, OcclusionTable.lightEmission(Block.TORCH.stateId()));
+        assertEquals(0, OcclusionTable.lightEmission(Block.STONE.stateId()));
+    }
+}
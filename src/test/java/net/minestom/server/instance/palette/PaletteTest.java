@@ -285,6 +285,39 @@ public class PaletteTest {
         assertDoesNotThrow(() -> Palette.newPalette(16, 5, 3));
     }
 
+    @Test
+    public void copyOnWrite() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            palette.set(0, 0, 0, 1);
+            palette.set(1, 0, 0, 2);
+            Palette copy = palette.clone();
+            Palette secondCopy = copy.clone();
+            assertSame(((AdaptivePalette) palette).palette, ((AdaptivePalette) copy).palette);
+
+            copy.set(0, 0, 0, 3);
+            assertNotSame(((AdaptivePalette) palette).palette, ((AdaptivePalette) copy).palette);
+            assertEquals(1, palette.get(0, 0, 0));
+            assertEquals(3, copy.get(0, 0, 0));
+            assertEquals(1, secondCopy.get(0, 0, 0));
+
+            palette.set(1, 0, 0, 4);
+            assertEquals(4, palette.get(1, 0, 0));
+            assertEquals(2, copy.get(1, 0, 0));
+            assertEquals(2, secondCopy.get(1, 0, 0));
+
+            // Last one referencing the original backend
+            final Object backend = ((AdaptivePalette) secondCopy).palette;
+            secondCopy.set(1, 1, 0, 5);
+            assertSame(backend, ((AdaptivePalette) secondCopy).palette);
+
+            palette.fill(6);
+            assertEquals(6, palette.get(0, 0, 0));
+            assertEquals(3, copy.get(0, 0, 0));
+            assertEquals(1, secondCopy.get(0, 0, 0));
+        }
+    }
+
     private static List<Palette> testPalettes() {
         return List.of(
                 Palette.newPalette(2, 5, 3),
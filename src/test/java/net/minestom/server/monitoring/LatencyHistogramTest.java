@@ -0,0 +1,56 @@
+package net.minestom.server.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.mean());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) histogram.record(i * 1000L);
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(500_500, histogram.mean());
+        // Buckets are accurate to ~6%
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.07);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.07);
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void bucketBounds() {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestValue(index) >= value);
+            if (index > 0) assertTrue(LatencyHistogram.highestValue(index - 1) < value);
+        }
+    }
+
+    @Test
+    public void addAndReset() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(20);
+        second.record(-5);
+        first.add(second);
+        assertEquals(3, first.count());
+        assertEquals(30, first.total());
+        assertEquals(20, first.max());
+
+        first.reset();
+        assertEquals(0, first.count());
+        assertEquals(0, first.percentile(50));
+    }
+}
@@ -7,7 +7,11 @@ import net.minestom.server.network.packet.server.play.SystemChatPacket;
 import net.minestom.server.utils.PacketUtils;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +45,46 @@ public class SendablePacketTest {
 
         assertSame(packet, cached.packet(ConnectionState.PLAY));
     }
+
+    @Test
+    public void cachedCompression() {
+        var packet = new SystemChatPacket(Component.text("Hello World!"), false);
+        var cached = new CachedPacket(packet);
+
+        var compressed = cached.body(ConnectionState.PLAY, true);
+        assertEquals(PacketUtils.allocateTrimmedPacket(ConnectionState.PLAY, packet, true).body(), compressed);
+        var uncompressed = cached.body(ConnectionState.PLAY, false);
+        assertEquals(PacketUtils.allocateTrimmedPacket(ConnectionState.PLAY, packet, false).body(), uncompressed);
+        assertNotEquals(compressed, uncompressed);
+    }
+
+    @Test
+    public void cachedConcurrent() throws InterruptedException {
+        var packet = new SystemChatPacket(Component.text("Hello World!"), false);
+        AtomicInteger counter = new AtomicInteger();
+        var cached = new CachedPacket(() -> {
+            counter.incrementAndGet();
+            return packet;
+        });
+
+        final int threadCount = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                cached.body(ConnectionState.PLAY, true);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        // May fail in the very unlikely case where soft references are cleared
+        assertEquals(1, counter.get(), "Packet should only be framed once");
+    }
 }
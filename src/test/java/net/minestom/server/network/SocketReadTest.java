@@ -6,6 +6,7 @@ import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryBuffer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -123,4 +124,47 @@ public class SocketReadTest {
         assertEquals("channel", readPacket.channel());
         assertEquals(2000, readPacket.data().length);
     }
+
+    @Test
+    public void invalidDecompressedLength() {
+        // Declared decompressed length larger than the packet buffer
+        var buffer = ObjectPool.PACKET_POOL.get();
+        final int dataLength = buffer.capacity() + 1;
+        Utils.writeVarInt(buffer, Utils.getVarIntSize(dataLength) + 10);
+        Utils.writeVarInt(buffer, dataLength);
+        buffer.put(new byte[10]);
+
+        var wrapper = BinaryBuffer.wrap(buffer);
+        wrapper.reset(0, buffer.position());
+        assertThrows(DataFormatException.class, () -> PacketUtils.readPackets(wrapper, true, (integer, payload) -> fail()));
+    }
+
+    @Test
+    public void mismatchedDecompressedLength() throws DataFormatException {
+        var packet = new ClientPluginMessagePacket("channel", new byte[2000]);
+
+        var buffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(buffer, 0x0A, packet, 256);
+        // Declare a longer decompressed length than the real one
+        var wrapper = BinaryBuffer.wrap(buffer);
+        wrapper.reset(0, buffer.position());
+        final int packetLength = wrapper.readVarInt();
+        final int dataLengthIndex = wrapper.readerOffset();
+        final int dataLength = wrapper.readVarInt();
+        assertEquals(Utils.getVarIntSize(dataLength), Utils.getVarIntSize(dataLength + 1));
+        buffer.position(dataLengthIndex);
+        Utils.writeVarInt(buffer, dataLength + 1);
+
+        wrapper.reset(0, dataLengthIndex + packetLength);
+        assertThrows(DataFormatException.class, () -> PacketUtils.readPackets(wrapper, true, (integer, payload) -> fail()));
+
+        // The inflater must still be usable
+        var validBuffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(validBuffer, 0x0A, packet, 256);
+        var validWrapper = BinaryBuffer.wrap(validBuffer);
+        validWrapper.reset(0, validBuffer.position());
+        List<Pair<Integer, ByteBuffer>> packets = new ArrayList<>();
+        assertNull(PacketUtils.readPackets(validWrapper, true, (integer, payload) -> packets.add(Pair.of(integer, payload))));
+        assertEquals(1, packets.size());
+    }
 }
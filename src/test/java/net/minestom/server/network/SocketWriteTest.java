@@ -8,11 +8,11 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
 
 import static net.minestom.server.network.NetworkBuffer.INT;
 import static net.minestom.server.network.NetworkBuffer.STRING;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SocketWriteTest {
 
@@ -105,4 +105,33 @@ public class SocketWriteTest {
         // The 3 bytes var-int length is hardcoded for performance purpose, could change in the future
         assertEquals((3 + 3 + 1 + 4) * 2, buffer.position(), "Invalid buffer position");
     }
+
+    @Test
+    public void writeSingleCompressedStrategyUncompressed() {
+        var string = "Hello world!".repeat(200);
+        var stringLength = string.getBytes(StandardCharsets.UTF_8).length;
+        var lengthLength = Utils.getVarIntSize(stringLength);
+
+        var packet = new CompressiblePacket(string);
+
+        var buffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(ConnectionState.PLAY, buffer, packet, true, CompressionStrategy.level(CompressionStrategy.UNCOMPRESSED));
+
+        // 3 bytes packet length [var-int] + 3 bytes data length [var-int] + 1 byte packet id [var-int] + payload
+        assertEquals(3 + 3 + 1 + lengthLength + stringLength, buffer.position(), "Packet should not have been compressed");
+    }
+
+    @Test
+    public void writeSingleCompressedStrategyLevel() {
+        var string = "Hello world!".repeat(200);
+        var packet = new CompressiblePacket(string);
+
+        var fastBuffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(ConnectionState.PLAY, fastBuffer, packet, true, CompressionStrategy.level(Deflater.BEST_SPEED));
+        var bestBuffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(ConnectionState.PLAY, bestBuffer, packet, true, CompressionStrategy.level(Deflater.BEST_COMPRESSION));
+
+        assertTrue(bestBuffer.position() <= fastBuffer.position());
+        assertThrows(IllegalArgumentException.class, () -> CompressionStrategy.level(10));
+    }
 }
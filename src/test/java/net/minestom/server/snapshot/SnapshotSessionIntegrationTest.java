@@ -0,0 +1,78 @@
+package net.minestom.server.snapshot;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class SnapshotSessionIntegrationTest {
+
+    @Test
+    public void reuse(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var ent = new Entity(EntityType.ZOMBIE);
+        ent.setInstance(instance, new Pos(0, 40, 0)).join();
+
+        SnapshotSession<ServerSnapshot> session = SnapshotSession.of(MinecraftServer.process());
+        assertEquals(0, session.delta().generation());
+        ServerSnapshot first = session.update();
+        assertEquals(1, session.delta().generation());
+        ChunkSnapshot firstChunk = first.instances().iterator().next().chunk(0, 0);
+        EntitySnapshot firstEntity = first.entity(ent.getEntityId());
+        assertTrue(session.delta().updated().contains(firstChunk));
+
+        // Nothing changed
+        ServerSnapshot second = session.update();
+        InstanceSnapshot secondInstance = second.instances().iterator().next();
+        assertSame(firstChunk, secondInstance.chunk(0, 0));
+        assertSame(firstEntity, second.entity(ent.getEntityId()));
+        assertFalse(session.delta().updated().contains(firstChunk));
+        assertFalse(session.delta().updated().contains(firstEntity));
+        assertSame(secondInstance, firstChunk.instance());
+
+        // Modified
+        instance.setBlock(1, 40, 1, Block.STONE);
+        ent.teleport(new Pos(2, 40, 2)).join();
+        ServerSnapshot third = session.update();
+        ChunkSnapshot thirdChunk = third.instances().iterator().next().chunk(0, 0);
+        EntitySnapshot thirdEntity = third.entity(ent.getEntityId());
+        assertNotSame(firstChunk, thirdChunk);
+        assertEquals(Block.STONE, thirdChunk.getBlock(1, 40, 1));
+        assertEquals(Block.AIR, firstChunk.getBlock(1, 40, 1));
+        assertEquals(new Pos(2, 40, 2), thirdEntity.position());
+        assertTrue(session.delta().updated().contains(thirdChunk));
+        assertTrue(session.delta().updated().contains(thirdEntity));
+
+        // Older generations are point-in-time views
+        assertSame(secondInstance, firstChunk.instance());
+        assertSame(firstEntity, first.entity(ent.getEntityId()));
+        assertEquals(new Pos(0, 40, 0), first.entity(ent.getEntityId()).position());
+        assertNotSame(third.instances().iterator().next(), firstChunk.instance());
+        assertSame(third.instances().iterator().next(), thirdChunk.instance());
+
+        // Only a referenced snapshot modified, the chunk content is shared
+        instance.setTag(Tag.String("key"), "value");
+        ServerSnapshot fourth = session.update();
+        InstanceSnapshot fourthInstance = fourth.instances().iterator().next();
+        ChunkSnapshot fourthChunk = fourthInstance.chunk(0, 0);
+        assertNotSame(thirdChunk, fourthChunk);
+        assertSame(fourthInstance, fourthChunk.instance());
+        assertSame(((SnapshotImpl.Chunk) thirdChunk).sections(), ((SnapshotImpl.Chunk) fourthChunk).sections());
+        assertNull(thirdChunk.instance().getTag(Tag.String("key")));
+        assertEquals("value", fourthChunk.instance().getTag(Tag.String("key")));
+
+        // Removed
+        ent.remove();
+        session.update();
+        assertTrue(session.delta().removed().contains(thirdEntity));
+    }
+}
@@ -4,10 +4,17 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AcquirableTest {
 
@@ -41,4 +48,243 @@ public class AcquirableTest {
 
         assertNotEquals(firstThread, secondThread);
     }
+
+    @Test
+    public void crossAcquisition() {
+        AtomicInteger acquisitions = new AtomicInteger();
+        AtomicReference<Entity> firstEntity = new AtomicReference<>();
+        AtomicReference<Entity> secondEntity = new AtomicReference<>();
+        class AcquiringEntity extends Entity {
+            private final AtomicReference<Entity> other;
+
+            AcquiringEntity(AtomicReference<Entity> other) {
+                super(EntityType.ZOMBIE);
+                this.other = other;
+            }
+
+            @Override
+            public void tick(long time) {
+                super.tick(time);
+                final Entity other = this.other.get();
+                if (other.getAcquirable().assignedThread() == null) return;
+                other.getAcquirable().sync(entity -> acquisitions.incrementAndGet());
+            }
+        }
+        firstEntity.set(new AcquiringEntity(secondEntity));
+        secondEntity.set(new AcquiringEntity(firstEntity));
+        Object first = new Object();
+        Object second = new Object();
+
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateElement(firstEntity.get(), first);
+        dispatcher.updateElement(secondEntity.get(), second);
+
+        Acquirable.resetPairAcquiringTimes();
+        // Both threads acquire each other every tick
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 1000; i++) dispatcher.updateAndAwait(System.currentTimeMillis());
+        });
+        assertTrue(acquisitions.get() >= 1998);
+
+        final Map<String, Map<String, Long>> waits = Acquirable.resetPairAcquiringTimes();
+        final String firstThread = firstEntity.get().getAcquirable().assignedThread().getName();
+        final String secondThread = secondEntity.get().getAcquirable().assignedThread().getName();
+        assertTrue(waits.get(firstThread).containsKey(secondThread));
+        assertTrue(waits.get(secondThread).containsKey(firstThread));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void nestedAcquisition() throws InterruptedException {
+        AtomicReference<Entity> held = new AtomicReference<>();
+        AtomicInteger violations = new AtomicInteger();
+        class HeldEntity extends Entity {
+            HeldEntity() {
+                super(EntityType.ZOMBIE);
+            }
+
+            @Override
+            public void tick(long time) {
+                super.tick(time);
+                if (held.get() == this) violations.incrementAndGet();
+            }
+        }
+        Entity firstEntity = new HeldEntity();
+        Entity secondEntity = new HeldEntity();
+        Object first = new Object();
+        Object second = new Object();
+
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateElement(firstEntity, first);
+        dispatcher.updateElement(secondEntity, second);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+
+        final boolean firstLower = firstEntity.getAcquirable().assignedThread().order() <
+                secondEntity.getAcquirable().assignedThread().order();
+        final Entity lower = firstLower ? firstEntity : secondEntity;
+        final Entity higher = firstLower ? secondEntity : firstEntity;
+        assertNotSame(lower.getAcquirable().assignedThread(), higher.getAcquirable().assignedThread());
+
+        // Both threads keep ticking, and therefore contend with the acquisitions
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread ticker = new Thread(() -> {
+            while (running.get()) dispatcher.updateAndAwait(System.currentTimeMillis());
+        });
+        ticker.start();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 200; i++) {
+                // In order, the outer element stays locked while waiting
+                lower.getAcquirable().sync(outer -> {
+                    held.set(outer);
+                    higher.getAcquirable().sync(inner -> Thread.yield());
+                    Thread.yield();
+                    held.set(null);
+                });
+            }
+        });
+        running.set(false);
+        ticker.join();
+        assertEquals(0, violations.get());
+
+        // Out of order but free, nested acquisitions keep working
+        AtomicInteger nested = new AtomicInteger();
+        higher.getAcquirable().sync(outer -> lower.getAcquirable().sync(inner -> nested.incrementAndGet()));
+        assertEquals(1, nested.get());
+
+        // Out of order and contended, refused instead of releasing the outer element
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lower.getAcquirable().sync(entity -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+        holder.start();
+        locked.await();
+        higher.getAcquirable().sync(outer ->
+                assertThrows(IllegalStateException.class, () -> lower.getAcquirable().sync(inner -> fail())));
+        release.countDown();
+        holder.join();
+        // The refused acquisition must not stay registered
+        lower.getAcquirable().sync(entity -> higher.getAcquirable().sync(e -> {
+        }));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void stolenAcquisition() throws InterruptedException {
+        // Elements of stolen partitions must never be used by two threads at once
+        final int partitionCount = 16;
+        // Every partition is owned by the first thread
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.workStealing(partition -> 0, 4);
+        final TickThread owner = dispatcher.threads().get(0);
+        AtomicInteger violations = new AtomicInteger();
+        AtomicInteger stolenTicks = new AtomicInteger();
+        List<Entity> entities = new ArrayList<>();
+        class StolenEntity extends Entity {
+            private final AtomicReference<Thread> user = new AtomicReference<>();
+            private final int index;
+
+            StolenEntity(int index) {
+                super(EntityType.ZOMBIE);
+                this.index = index;
+            }
+
+            @Override
+            public void tick(long time) {
+                super.tick(time);
+                if (Thread.currentThread() != owner) stolenTicks.incrementAndGet();
+                use();
+                // May target an element being ticked by a thief
+                final Entity other = entities.get((index + 1) % partitionCount);
+                other.getAcquirable().sync(entity -> ((StolenEntity) entity).use());
+            }
+
+            void use() {
+                if (!user.compareAndSet(null, Thread.currentThread())) {
+                    violations.incrementAndGet();
+                    return;
+                }
+                Thread.yield();
+                user.set(null);
+            }
+        }
+        for (int i = 0; i < partitionCount; i++) entities.add(new StolenEntity(i));
+        for (Entity entity : entities) {
+            Object partition = new Object();
+            dispatcher.createPartition(partition);
+            dispatcher.updateElement(entity, partition);
+        }
+
+        // Assign the elements to their thread
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+
+        // Acquisitions from outside the tick threads
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread acquirer = new Thread(() -> {
+            while (running.get()) {
+                for (Entity entity : entities) entity.getAcquirable().sync(e -> ((StolenEntity) e).use());
+            }
+        });
+        acquirer.start();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 200; i++) dispatcher.updateAndAwait(System.currentTimeMillis());
+        });
+        running.set(false);
+        acquirer.join();
+        assertEquals(0, violations.get());
+        assertTrue(stolenTicks.get() > 0, "Partitions have not been stolen");
+        // Ownership is restored after each tick
+        for (Entity entity : entities) assertSame(owner, entity.getAcquirable().assignedThread());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void mailbox() {
+        Entity entity = new Entity(EntityType.ZOMBIE);
+        // Not ticked, executed by the caller
+        assertEquals(1, entity.getAcquirable().submit(e -> 1).join());
+
+        Object first = new Object();
+        Object second = new Object();
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateElement(entity, first);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+
+        List<Integer> order = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            futures.add(entity.getAcquirable().post(e -> {
+                order.add(index);
+                threads.add(Thread.currentThread());
+            }));
+        }
+        assertTrue(order.isEmpty());
+        // Moved before the messages are executed
+        dispatcher.updateElement(entity, second);
+        for (int i = 0; i < 3 && !futures.stream().allMatch(CompletableFuture::isDone); i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        futures.forEach(CompletableFuture::join);
+        for (int i = 0; i < 100; i++) assertEquals(i, order.get(i));
+        for (Thread thread : threads) assertSame(entity.getAcquirable().assignedThread(), thread);
+
+        CompletableFuture<Object> failed = entity.getAcquirable().submit(e -> {
+            throw new IllegalStateException();
+        });
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertTrue(failed.isCompletedExceptionally());
+        dispatcher.shutdown();
+    }
 }
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -167,4 +168,134 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void workStealing() {
+        // Ensure that idle threads tick the partitions of the busy ones
+        final int threadCount = 2;
+        final int partitionCount = 10;
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.workStealing(partition -> 0, threadCount);
+        assertEquals(threadCount, dispatcher.threads().size());
+
+        Map<Tickable, Thread> threads = new ConcurrentHashMap<>();
+        final AtomicInteger counter = new AtomicInteger();
+        Set<Tickable> partitions = IntStream.range(0, partitionCount)
+                .mapToObj(value -> new Tickable() {
+                    @Override
+                    public void tick(long time) {
+                        final Thread thread = Thread.currentThread();
+                        assertInstanceOf(TickThread.class, thread);
+                        assertNull(threads.put(this, thread));
+                        counter.getAndIncrement();
+                        if (value == 0) {
+                            try {
+                                Thread.sleep(100);
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+                }).collect(Collectors.toUnmodifiableSet());
+        partitions.forEach(dispatcher::createPartition);
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitionCount, counter.get());
+        assertEquals(partitionCount, threads.size());
+        assertEquals(threadCount, Set.copyOf(threads.values()).size(), "Partitions have not been stolen");
+
+        // Ownership must not change
+        assertEquals(partitionCount, dispatcher.threads().get(0).entries().size());
+        assertEquals(0, dispatcher.threads().get(1).entries().size());
+        final long stolen = dispatcher.threads().stream().mapToLong(TickThread::getStolenCount).sum();
+        assertTrue(stolen > 0);
+
+        threads.clear();
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitionCount * 2, counter.get());
+        assertEquals(partitionCount, threads.size());
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancedThreads() {
+        // Ensure that partitions are moved away from an overloaded thread
+        final int threadCount = 2;
+        final int partitionCount = 4;
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull Tickable partition) {
+                return 0;
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        }, threadCount);
+
+        IntStream.range(0, partitionCount)
+                .mapToObj(value -> (Tickable) (time) -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }).forEach(dispatcher::createPartition);
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitionCount, dispatcher.threads().get(0).entries().size());
+        for (var entry : dispatcher.threads().get(0).entries()) {
+            assertTrue(entry.tickDuration() >= TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        dispatcher.refreshThreads();
+        for (TickThread thread : dispatcher.threads()) {
+            assertFalse(thread.entries().isEmpty(), "Partitions have not been balanced");
+            for (var entry : thread.entries()) assertSame(thread, entry.thread());
+        }
+        assertEquals(partitionCount, dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).sum());
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void profiler() {
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.singleThread();
+        var profiler = dispatcher.profiler();
+        assertFalse(profiler.isEnabled());
+        profiler.setWindowTicks(2);
+
+        Tickable partition = new Tickable() {
+            @Override
+            public void tick(long time) {
+            }
+
+            @Override
+            public String toString() {
+                return "partition";
+            }
+        };
+        dispatcher.createPartition(partition);
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertTrue(profiler.topPartitions(10).isEmpty());
+
+        profiler.enable();
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        // Window is not complete yet
+        assertTrue(profiler.topPartitions(10).isEmpty());
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+
+        var partitions = profiler.topPartitions(10);
+        assertEquals(1, partitions.size());
+        assertEquals("partition", partitions.get(0).name());
+        assertEquals(2, partitions.get(0).histogram().count());
+        var elements = profiler.topElements(10);
+        assertEquals(1, elements.size());
+        assertEquals(2, elements.get(0).histogram().count());
+        assertTrue(profiler.dump(10).contains("partition"));
+
+        dispatcher.shutdown();
+    }
 }